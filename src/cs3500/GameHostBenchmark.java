@@ -0,0 +1,93 @@
+package cs3500;
+
+import cs3500.hw5.controller.GameHost;
+import cs3500.hw5.controller.GameSession;
+import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.RobotPlayer;
+import cs3500.hw5.strategies.CaptureMostPieces;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entry point to benchmark a {@link GameHost} under load. First, many games between players who
+ * never move are hosted, to measure the memory of an idle session. Then as many games between
+ * robots are hosted at once, and the number of games finished per second and the latency of robot
+ * moves are reported.
+ */
+public class GameHostBenchmark {
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args is optionally the number of games to host at once (10000 by default), then the
+   *             number of threads to search robot moves on (every processor by default).
+   * @throws InterruptedException if the benchmark is interrupted.
+   */
+  public static void main(String[] args) throws InterruptedException {
+    int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+    int threads = args.length > 1 ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+    System.out.printf("%d concurrent games, %d robot threads%n", sessions, threads);
+
+    try (GameHost host = new GameHost(threads)) {
+      long before = usedMemory();
+      List<GameSession> idle = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        ReversiModel model = new BasicReversi();
+        idle.add(host.host(model, new BasicPlayer(model, "X"), new BasicPlayer(model, "O")));
+      }
+      //every session has started its game once the first player can move
+      while (!allStarted(idle)) {
+        Thread.sleep(10);
+      }
+      long perSession = (usedMemory() - before) / sessions;
+      System.out.printf("idle sessions: %d active, about %d bytes each, game included%n",
+          host.getActiveSessions(), perSession);
+    }
+
+    try (GameHost host = new GameHost(threads)) {
+      long start = System.nanoTime();
+      List<GameSession> games = new ArrayList<>();
+      for (int i = 0; i < sessions; i++) {
+        ReversiModel model = new BasicReversi();
+        games.add(host.host(model, new RobotPlayer(model, "X", new CaptureMostPieces()),
+            new RobotPlayer(model, "O", new CaptureMostPieces())));
+      }
+      int failures = 0;
+      for (GameSession game : games) {
+        game.awaitEnd(Duration.ofHours(1));
+        if (game.getFailure() != null) {
+          failures++;
+        }
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+      System.out.printf("robot games: %d finished in %.1f s, %.0f games/s, %d failed%n", sessions,
+          seconds, sessions / seconds, failures);
+      System.out.printf("robot moves: %d, %.0f moves/s, latency p50 %.2f ms, p99 %.2f ms%n",
+          host.getRobotMoves(), host.getRobotMoves() / seconds,
+          host.getMoveLatencyNanos(50) / 1e6, host.getMoveLatencyNanos(99) / 1e6);
+    }
+  }
+
+  private static boolean allStarted(List<GameSession> sessions) {
+    for (GameSession session : sessions) {
+      try {
+        session.getModel().getTurn();
+      } catch (IllegalStateException e) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long usedMemory() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
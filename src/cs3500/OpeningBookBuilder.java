@@ -0,0 +1,43 @@
+package cs3500;
+
+import cs3500.hw5.strategies.AlphaBeta;
+import cs3500.hw5.strategies.OpeningBook;
+import cs3500.hw5.strategies.TranspositionTable;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Entry point to build an opening book offline. Every position reachable in the first moves of a
+ * game is searched to a fixed depth with alpha-beta, and the best moves are written to a file that
+ * robots can play from.
+ */
+public class OpeningBookBuilder {
+
+  /**
+   * Builds the book.
+   *
+   * @param args is the file to write, then optionally the number of moves to cover (6 by
+   *             default), the depth to search each position to (10 by default), and the maximum
+   *             and minimum widths of the board (11 and 6 by default).
+   * @throws IOException if the book cannot be written.
+   */
+  public static void main(String[] args) throws IOException {
+    if (args.length != 1 && args.length != 2 && args.length != 3 && args.length != 5) {
+      System.out.println("Usage: <file> [<moves> [<depth> [<max_width> <min_width>]]]");
+      return;
+    }
+    Path file = Path.of(args[0]);
+    int plies = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+    int depth = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+    int maxWidth = args.length > 3 ? Integer.parseInt(args[3]) : 11;
+    int minWidth = args.length > 3 ? Integer.parseInt(args[4]) : 6;
+
+    //the time budget is an hour, so every position is searched to the full depth.
+    AlphaBeta strategy = new AlphaBeta(depth, 3_600_000, new TranspositionTable(64), 1,
+        AlphaBeta.DEFAULT_STABILITY_WEIGHT);
+    long start = System.nanoTime();
+    int size = OpeningBook.build(maxWidth, minWidth, plies, strategy, file);
+    System.out.printf("Wrote %d positions to %s in %d ms%n", size, file,
+        (System.nanoTime() - start) / 1_000_000);
+  }
+}
@@ -1,38 +1,64 @@
 package cs3500;
 
+import cs3500.hw5.controller.GameThread;
 import cs3500.hw5.controller.ReversiController;
 import cs3500.hw5.controller.ReversiGUIController;
 import cs3500.hw5.controller.ReversiRobotController;
 import cs3500.hw5.model.BasicPlayer;
 import cs3500.hw5.model.BasicReadOnlyReversi;
 import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.BitboardReversi;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReadOnlyReversiModel;
 import cs3500.hw5.model.ReversiModel;
 import cs3500.hw5.model.RobotPlayer;
+import cs3500.hw5.strategies.AlphaBeta;
 import cs3500.hw5.strategies.AvoidCellsNextToCorners;
 import cs3500.hw5.strategies.CaptureMostPieces;
+import cs3500.hw5.strategies.ClockManager;
+import cs3500.hw5.strategies.EndgameSolver;
 import cs3500.hw5.strategies.Minimax;
+import cs3500.hw5.strategies.MonteCarlo;
+import cs3500.hw5.strategies.OpeningBook;
 import cs3500.hw5.strategies.PrioritizeCorners;
 import cs3500.hw5.strategies.ReversiStrategy;
 import cs3500.hw5.strategies.TryTwo;
 import cs3500.hw5.view.ReversiGUI;
 import cs3500.hw5.view.ReversiGUIView;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Scanner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 /**
  * Entry point to run a game of Reversi.
  */
 public class Reversi {
 
+  //the opening book searching robots play from, if it has been built by OpeningBookBuilder.
+  private static final Path BOOK_FILE = Path.of("reversi.book");
+
+  //every move is made on the game thread, and robots search on their own threads, so neither a
+  //move nor a search ever runs on the Swing event thread.
+  private static final GameThread GAME_THREAD = new GameThread();
+  private static final Executor SEARCHES = Executors.newFixedThreadPool(2, runnable -> {
+    Thread thread = new Thread(runnable, "reversi-search");
+    thread.setDaemon(true);
+    return thread;
+  });
+
   /**
    * Initializes a game of Reversi.
    */
   public static void main(String[] args) {
-    if (args.length != 4) {
+    if (args.length != 4 && args.length != 5) {
       System.out.println("Usage: <player1_strategy> <player2_strategy> "
           + "<player1_hints_enabled (T/F)> "
-          + "<player2_hints_enabled (T/F)>");
+          + "<player2_hints_enabled (T/F)> "
+          + "[<model (basic/bitboard)>]");
       return;
     }
 
@@ -49,7 +75,7 @@ public class Reversi {
       player2Hints = true;
     }
 
-    ReversiModel model = new BasicReversi();
+    ReversiModel model = createModel(args.length == 5 ? args[4] : "basic");
     ReadOnlyReversiModel readOnlyModel = new BasicReadOnlyReversi(model);
     Player player1 = createPlayer(model, "X", player1Strategy);
     Player player2 = createPlayer(model, "O", player2Strategy);
@@ -63,8 +89,45 @@ public class Reversi {
         viewPlayer2, player2Strategy);
     viewPlayer1.makeVisible();
     viewPlayer2.makeVisible();
-    model.startGame(player1, player2, model.getBoard());
+    GAME_THREAD.execute(() -> model.startGame(player1, player2, model.getBoard()));
+  }
+
+  private static ReversiModel createModel(String arg) {
+    arg = arg.toLowerCase();
+    switch (arg) {
+      case "basic":
+        return new BasicReversi();
+      case "bitboard":
+        return new BitboardReversi();
+      default:
+        throw new IllegalArgumentException("Bad argument: " + arg);
+    }
+  }
+
+  //a searching robot has a minute for the whole game, and at most a second for any one move.
+  private static ClockManager createClock() {
+    return new ClockManager(Duration.ofMinutes(1), Duration.ofSeconds(1),
+        Duration.ofMillis(ClockManager.DEFAULT_MIN_MOVE_MILLIS));
+  }
 
+  //searching robots keep to a clock, ponder, and play from the opening book if there is one.
+  private static RobotPlayer createSearchingRobot(ReversiModel model, String description,
+      ReversiStrategy strategy) {
+    RobotPlayer robot = new RobotPlayer(model, description, strategy, createClock(), true);
+    robot.setOpeningBook(loadOpeningBook());
+    return robot;
+  }
+
+  private static OpeningBook loadOpeningBook() {
+    if (!Files.exists(BOOK_FILE)) {
+      return null;
+    }
+    try {
+      return OpeningBook.open(BOOK_FILE);
+    } catch (IOException e) {
+      System.out.println("Cannot read opening book: " + e.getMessage());
+      return null;
+    }
   }
 
   private static Player createPlayer(ReversiModel model, String description, String arg) {
@@ -76,6 +139,10 @@ public class Reversi {
         return new RobotPlayer(model, description, new CaptureMostPieces());
       case "minimax":
         return new RobotPlayer(model, description, new Minimax());
+      case "alphabeta":
+        return createSearchingRobot(model, description, new EndgameSolver(new AlphaBeta()));
+      case "montecarlo":
+        return createSearchingRobot(model, description, new EndgameSolver(new MonteCarlo()));
       case "prioritizecorners":
         return new RobotPlayer(model, description, new PrioritizeCorners());
       case "avoidcellsnexttocorners":
@@ -101,6 +168,10 @@ public class Reversi {
         return new CaptureMostPieces();
       case "minimax":
         return new Minimax();
+      case "alphabeta":
+        return new EndgameSolver(new AlphaBeta());
+      case "montecarlo":
+        return new EndgameSolver(new MonteCarlo());
       case "prioritizecorners":
         return new PrioritizeCorners();
       case "avoidcellsnexttocorners":
@@ -123,12 +194,15 @@ public class Reversi {
     arg = arg.toLowerCase();
     switch (arg) {
       case "human":
-        return new ReversiGUIController(model, player, view);
+        return new ReversiGUIController(model, player, view, GAME_THREAD);
       case "minimax":
+      case "alphabeta":
+      case "montecarlo":
       case "prioritizecorners":
       case "avoidcellsnexttocorners":
       case "trytwo":
-        return new ReversiRobotController(model, player, view);
+        return new ReversiRobotController(model, (RobotPlayer) player, view, GAME_THREAD,
+            SEARCHES);
       default:
         throw new IllegalArgumentException("Cannot create controller: " + arg);
     }
@@ -0,0 +1,197 @@
+package cs3500;
+
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.RobotPlayer;
+import cs3500.hw5.strategies.AlphaBeta;
+import cs3500.hw5.strategies.AvoidCellsNextToCorners;
+import cs3500.hw5.strategies.CaptureMostPieces;
+import cs3500.hw5.strategies.Minimax;
+import cs3500.hw5.strategies.MonteCarlo;
+import cs3500.hw5.strategies.PrioritizeCorners;
+import cs3500.hw5.strategies.ReversiStrategy;
+import cs3500.hw5.strategies.TryTwo;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Entry point to pit strategies against each other without any windows. Every pair of strategies
+ * plays a number of games, spread across a pool of threads, and the wins, losses and draws of
+ * each pairing are reported with the average disc margin and the number of moves made per second.
+ *
+ * <p>Most strategies always play the same move in the same position, so every game starts with
+ * a few random moves, and each random opening is played twice, with the strategies swapping
+ * colors, so that neither strategy has the advantage of the opening.
+ */
+public class ReversiArena {
+
+  //the strategies that play by default.
+  private static final String[] DEFAULT_STRATEGIES = {"capturemostpieces", "minimax",
+      "prioritizecorners", "avoidcellsnexttocorners", "trytwo"};
+
+  //the number of random moves every game starts with.
+  private static final int OPENING_MOVES = 4;
+
+  /**
+   * Runs the arena.
+   *
+   * @param args is optionally the number of games of each pairing (100 by default), then the
+   *             number of threads (every processor by default), then the names of the strategies
+   *             to play (the five simple strategies by default).
+   */
+  public static void main(String[] args) {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+    int threads = args.length > 1 ? Integer.parseInt(args[1])
+        : Runtime.getRuntime().availableProcessors();
+    String[] names = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length)
+        : DEFAULT_STRATEGIES;
+    for (String name : names) {
+      createStrategy(name);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    List<int[]> pairings = new ArrayList<>();
+    List<List<ForkJoinTask<GameResult>>> tasks = new ArrayList<>();
+    long start = System.nanoTime();
+    for (int first = 0; first < names.length; first++) {
+      for (int second = first + 1; second < names.length; second++) {
+        String firstName = names[first];
+        String secondName = names[second];
+        List<ForkJoinTask<GameResult>> pairing = new ArrayList<>();
+        for (int game = 0; game < games; game++) {
+          int seed = game / 2;
+          boolean firstIsX = game % 2 == 0;
+          pairing.add(pool.submit(() -> play(firstName, secondName, seed, firstIsX)));
+        }
+        pairings.add(new int[] {first, second});
+        tasks.add(pairing);
+      }
+    }
+
+    System.out.printf("%d games per pairing on %d threads%n", games, threads);
+    System.out.printf("%-25s %-25s %6s %6s %6s %8s %10s%n", "first", "second", "wins", "losses",
+        "draws", "margin", "moves/s");
+    long totalMoves = 0;
+    for (int i = 0; i < pairings.size(); i++) {
+      int wins = 0;
+      int losses = 0;
+      int draws = 0;
+      long margin = 0;
+      long moves = 0;
+      long nanos = 0;
+      for (ForkJoinTask<GameResult> task : tasks.get(i)) {
+        GameResult result = task.join();
+        if (result.margin > 0) {
+          wins++;
+        } else if (result.margin < 0) {
+          losses++;
+        } else {
+          draws++;
+        }
+        margin += result.margin;
+        moves += result.moves;
+        nanos += result.nanos;
+      }
+      totalMoves += moves;
+      System.out.printf("%-25s %-25s %6d %6d %6d %8.2f %10.0f%n", names[pairings.get(i)[0]],
+          names[pairings.get(i)[1]], wins, losses, draws, (double) margin / games,
+          moves * 1e9 / Math.max(1, nanos));
+    }
+    pool.shutdown();
+    long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+    System.out.printf("%d moves in %d ms, %.0f moves/s across all threads%n", totalMoves, millis,
+        totalMoves * 1000.0 / millis);
+  }
+
+  /**
+   * Plays one game between two strategies.
+   *
+   * @param firstName  is the name of the first strategy.
+   * @param secondName is the name of the second strategy.
+   * @param seed       is the seed of the random opening.
+   * @param firstIsX   is true if the first strategy moves first.
+   * @return the result of the game for the first strategy.
+   */
+  private static GameResult play(String firstName, String secondName, int seed,
+      boolean firstIsX) {
+    ReversiModel model = new BasicReversi();
+    RobotPlayer first = new RobotPlayer(model, firstIsX ? "X" : "O", createStrategy(firstName));
+    RobotPlayer second = new RobotPlayer(model, firstIsX ? "O" : "X",
+        createStrategy(secondName));
+    if (firstIsX) {
+      model.startGame(first, second, model.getBoard());
+    } else {
+      model.startGame(second, first, model.getBoard());
+    }
+
+    Random random = new Random(seed);
+    for (int i = 0; i < OPENING_MOVES && !model.isGameOver(); i++) {
+      Player player = model.getTurn();
+      List<Coord> moves = model.legalMoves(player);
+      if (moves.isEmpty()) {
+        model.passTurn(player);
+      } else {
+        model.makeMove(player, moves.get(random.nextInt(moves.size())));
+      }
+    }
+
+    long start = System.nanoTime();
+    int moves = 0;
+    while (!model.isGameOver()) {
+      ((RobotPlayer) model.getTurn()).move(null);
+      moves++;
+    }
+    return new GameResult(model.getScore(first) - model.getScore(second), moves,
+        System.nanoTime() - start);
+  }
+
+  /**
+   * Creates a strategy from its name. The searching strategies are given small budgets, so that
+   * many games can be played.
+   *
+   * @param name is the name of the strategy.
+   * @return the strategy.
+   * @throws IllegalArgumentException if there is no strategy of that name.
+   */
+  private static ReversiStrategy createStrategy(String name) {
+    switch (name.toLowerCase()) {
+      case "capturemostpieces":
+        return new CaptureMostPieces();
+      case "minimax":
+        return new Minimax();
+      case "prioritizecorners":
+        return new PrioritizeCorners();
+      case "avoidcellsnexttocorners":
+        return new AvoidCellsNextToCorners();
+      case "trytwo":
+        return new TryTwo(new PrioritizeCorners(), new AvoidCellsNextToCorners());
+      case "alphabeta":
+        return new AlphaBeta(4, 100);
+      case "montecarlo":
+        return new MonteCarlo(100, Long.MAX_VALUE, 1);
+      default:
+        throw new IllegalArgumentException("Bad strategy: " + name);
+    }
+  }
+
+  /**
+   * The result of one game, for the first strategy.
+   */
+  private static final class GameResult {
+    private final int margin;
+    private final int moves;
+    private final long nanos;
+
+    private GameResult(int margin, int moves, long nanos) {
+      this.margin = margin;
+      this.moves = moves;
+      this.nanos = nanos;
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package cs3500;
+
+import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.strategies.AlphaBeta;
+import cs3500.hw5.strategies.CaptureMostPieces;
+import cs3500.hw5.strategies.TranspositionTable;
+
+/**
+ * Entry point to measure how much faster the alpha-beta search gets with more threads. The same
+ * positions are searched to a fixed depth at 1, 2, 4 and 8 threads, each with an empty
+ * transposition table, and the time taken is reported against the time with one thread.
+ */
+public class SearchBenchmark {
+
+  //positions are reached by playing this many moves of CaptureMostPieces from the start.
+  private static final int[] POSITIONS = {0, 10, 20, 30};
+
+  private static final int[] THREADS = {1, 2, 4, 8};
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args is optionally the depth to search to, which is 8 by default.
+   */
+  public static void main(String[] args) {
+    int depth = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+    System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+    System.out.printf("%-10s %-8s %-10s %-12s %s%n", "position", "threads", "millis", "nodes",
+        "speedup");
+    for (int moves : POSITIONS) {
+      ReversiModel model = createPosition(moves);
+      //one search first, so that the JIT has compiled the search before it is timed.
+      search(model, depth, 1);
+      long baseline = 0;
+      for (int threads : THREADS) {
+        long start = System.nanoTime();
+        long nodes = search(model, depth, threads);
+        long millis = Math.max(1, (System.nanoTime() - start) / 1_000_000);
+        if (threads == 1) {
+          baseline = millis;
+        }
+        System.out.printf("%-10d %-8d %-10d %-12d %.2fx%n", moves, threads, millis, nodes,
+            (double) baseline / millis);
+      }
+    }
+  }
+
+  private static ReversiModel createPosition(int moves) {
+    ReversiModel model = new BasicReversi();
+    Player player1 = new BasicPlayer(model, "X");
+    Player player2 = new BasicPlayer(model, "O");
+    model.startGame(player1, player2, model.getBoard());
+    for (int i = 0; i < moves && !model.isGameOver(); i++) {
+      Player player = model.getTurn();
+      CaptureMostPieces strategy = new CaptureMostPieces();
+      if (model.hasLegalMove(player)) {
+        model.makeMove(player, strategy.chooseMove(model, player).get());
+      } else {
+        model.passTurn(player);
+      }
+    }
+    return model;
+  }
+
+  private static long search(ReversiModel model, int depth, int threads) {
+    AlphaBeta strategy = new AlphaBeta(depth, 3_600_000, new TranspositionTable(64), threads);
+    strategy.chooseMove(model, model.getTurn());
+    return strategy.getNodesSearched();
+  }
+}
@@ -0,0 +1,66 @@
+package cs3500;
+
+import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
+import cs3500.hw5.strategies.StabilityAnalyzer;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Entry point to measure what keeping track of stable discs costs. Games of random moves are
+ * played on the default board, and after every move the stable discs are brought up to date by
+ * the analyzer, and, for comparison, worked out again from scratch. The average time of each is
+ * reported per move.
+ */
+public class StabilityBenchmark {
+
+  //the games of the first round are played only so that the JIT has compiled the analyzer.
+  private static final int ROUNDS = 2;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args is optionally the number of games to play, which is 200 by default.
+   */
+  public static void main(String[] args) {
+    int games = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+    for (int round = 1; round <= ROUNDS; round++) {
+      long moves = 0;
+      long updateNanos = 0;
+      long resetNanos = 0;
+      for (int seed = 0; seed < games; seed++) {
+        SearchableReversiModel model = new BasicReversi();
+        Player player1 = new BasicPlayer(model, "X");
+        Player player2 = new BasicPlayer(model, "O");
+        model.startGame(player1, player2, model.getBoard());
+        StabilityAnalyzer incremental = new StabilityAnalyzer(model.getGeometry());
+        StabilityAnalyzer scratch = new StabilityAnalyzer(model.getGeometry());
+        incremental.reset(model.getBoardView());
+        Random random = new Random(seed);
+        while (!model.isGameOver()) {
+          Player player = model.getTurn();
+          List<Coord> legal = model.legalMoves(player);
+          if (legal.isEmpty()) {
+            model.passTurn(player);
+            continue;
+          }
+          UndoRecord record = model.doMove(legal.get(random.nextInt(legal.size())));
+          long start = System.nanoTime();
+          incremental.update(record);
+          long middle = System.nanoTime();
+          scratch.reset(model.getBoardView());
+          long end = System.nanoTime();
+          updateNanos += middle - start;
+          resetNanos += end - middle;
+          moves++;
+        }
+      }
+      System.out.printf("round %d: %d moves, update %d ns/move, from scratch %d ns/move%n", round,
+          moves, updateNanos / moves, resetNanos / moves);
+    }
+  }
+}
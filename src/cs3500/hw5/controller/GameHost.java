@@ -0,0 +1,188 @@
+package cs3500.hw5.controller;
+
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Hosts any number of games at once in one program. Every game is a {@link GameSession}, driven
+ * by its own virtual thread, which costs little more than the game itself while it waits for a
+ * move. The moves of robots are searched on a pool of platform threads of a fixed size, so that
+ * a long search never holds on to the few threads that virtual threads run on, and the sessions
+ * waiting for a robot simply wait their turn for the pool.
+ *
+ * <p>The host keeps a histogram of how long the robot moves of all of its sessions took, from the
+ * turn starting to the move being made, including any time spent waiting for the pool.
+ */
+public final class GameHost implements AutoCloseable {
+
+  //latencies are kept in buckets of a quarter of a power of two of microseconds.
+  private static final int SUB_BUCKETS = 4;
+  private static final int BUCKETS = 64 * SUB_BUCKETS;
+
+  private final ExecutorService robotPool;
+  private final ThreadFactory sessionThreads;
+  private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+  private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+  private volatile boolean closed;
+
+  /**
+   * Constructor method, searches robot moves on one thread per processor.
+   */
+  public GameHost() {
+    this(Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param robotThreads is the number of platform threads robot moves are searched on.
+   * @throws IllegalArgumentException if the number of threads is not positive.
+   */
+  public GameHost(int robotThreads) {
+    if (robotThreads < 1) {
+      throw new IllegalArgumentException("Number of threads must be positive");
+    }
+    this.robotPool = Executors.newFixedThreadPool(robotThreads, runnable -> {
+      Thread thread = new Thread(runnable, "reversi-robot");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.sessionThreads = Thread.ofVirtual().name("reversi-session-", 0).factory();
+  }
+
+  /**
+   * Starts a game on a new session. The players should belong to the model, and any listeners
+   * should already have been added to it.
+   *
+   * @param model   is the game, which must not have started.
+   * @param player1 is the player to move first.
+   * @param player2 is the other player.
+   * @return the session of the game.
+   * @throws IllegalStateException if the host has been closed.
+   */
+  public GameSession host(ReversiModel model, Player player1, Player player2) {
+    Objects.requireNonNull(model);
+    Objects.requireNonNull(player1);
+    Objects.requireNonNull(player2);
+    if (this.closed) {
+      throw new IllegalStateException("Host is closed");
+    }
+    GameSession session = new GameSession(this, model, player1, player2);
+    Thread thread = this.sessionThreads.newThread(session::run);
+    this.running.add(thread);
+    thread.start();
+    return session;
+  }
+
+  /**
+   * Gets the number of sessions whose games have not yet ended.
+   *
+   * @return the number of sessions.
+   */
+  public int getActiveSessions() {
+    return this.running.size();
+  }
+
+  /**
+   * Gets the number of robot moves made in all sessions.
+   *
+   * @return the number of moves.
+   */
+  public long getRobotMoves() {
+    long moves = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      moves += this.latencies.get(i);
+    }
+    return moves;
+  }
+
+  /**
+   * Gets a percentile of the time robot moves have taken, from the turn starting to the move
+   * being made. The time is the upper end of the bucket the percentile falls in, so it is at most
+   * a quarter longer than the actual time.
+   *
+   * @param percentile is the percentile, from 0 to 100.
+   * @return the time in nanoseconds, or 0 if no robot has moved.
+   * @throws IllegalArgumentException if the percentile is not from 0 to 100.
+   */
+  public long getMoveLatencyNanos(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Percentile must be from 0 to 100");
+    }
+    long moves = this.getRobotMoves();
+    if (moves == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(moves * percentile / 100));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += this.latencies.get(i);
+      if (seen >= rank) {
+        return upperBoundOf(i);
+      }
+    }
+    return upperBoundOf(BUCKETS - 1);
+  }
+
+  /**
+   * Stops every session, and the robot pool. Games that are not over are abandoned.
+   */
+  @Override
+  public void close() {
+    this.closed = true;
+    for (Thread thread : this.running) {
+      thread.interrupt();
+    }
+    this.robotPool.shutdownNow();
+  }
+
+  /**
+   * Gets the pool that robot moves are searched on.
+   *
+   * @return the pool.
+   */
+  ExecutorService getRobotPool() {
+    return this.robotPool;
+  }
+
+  /**
+   * Adds the time a robot move took to the histogram.
+   *
+   * @param nanos is the time in nanoseconds.
+   */
+  void recordMoveLatency(long nanos) {
+    long micros = Math.max(1, nanos / 1000);
+    int log = 63 - Long.numberOfLeadingZeros(micros);
+    int fraction = log >= 2 ? (int) (micros >>> (log - 2)) & (SUB_BUCKETS - 1)
+        : (int) (micros << (2 - log)) & (SUB_BUCKETS - 1);
+    this.latencies.incrementAndGet(log * SUB_BUCKETS + fraction);
+  }
+
+  /**
+   * Marks the thread of a session as finished.
+   */
+  void sessionEnded() {
+    this.running.remove(Thread.currentThread());
+  }
+
+  /**
+   * Gets the largest time that falls in a bucket.
+   *
+   * @param bucket is the bucket.
+   * @return the time in nanoseconds.
+   */
+  private static long upperBoundOf(int bucket) {
+    int log = bucket / SUB_BUCKETS;
+    int fraction = bucket % SUB_BUCKETS;
+    //a bucket holds the microseconds from 2^log * (4 + fraction) / 4 up to the next bucket.
+    double micros = Math.pow(2, log) * (SUB_BUCKETS + fraction + 1) / SUB_BUCKETS;
+    return (long) Math.min(Long.MAX_VALUE, micros * 1000);
+  }
+}
@@ -0,0 +1,208 @@
+package cs3500.hw5.controller;
+
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.ModelFeatures;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.RobotPlayer;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One game hosted by a {@link GameHost}, played out on its own virtual thread. On the turn of a
+ * robot, the session hands the move to the robot pool of the host and waits for it. On the turn
+ * of any other player, the session waits for a move to be submitted, from any thread, with
+ * {@link #submitMove(Coord)} or {@link #submitPass()}. A submitted move that the game rejects is
+ * dropped, and the game has already told its listeners why.
+ *
+ * <p>The session listens to the game for the start of each turn and for the end of the game.
+ */
+public final class GameSession implements ModelFeatures {
+
+  private final GameHost host;
+  private final ReversiModel model;
+  private final Player player1;
+  private final Player player2;
+
+  //moves submitted for players that are not robots, where empty is a pass.
+  private final BlockingQueue<Optional<Coord>> submitted = new LinkedBlockingQueue<>();
+  private final CountDownLatch ended = new CountDownLatch(1);
+
+  private volatile long turnStarted;
+  private volatile boolean over;
+  private volatile Player winner;
+  private volatile Throwable failure;
+
+  /**
+   * Constructor method.
+   *
+   * @param host    is the host of the session.
+   * @param model   is the game, which must not have started.
+   * @param player1 is the player to move first.
+   * @param player2 is the other player.
+   */
+  GameSession(GameHost host, ReversiModel model, Player player1, Player player2) {
+    this.host = host;
+    this.model = model;
+    this.player1 = player1;
+    this.player2 = player2;
+    model.addFeaturesListener(this);
+  }
+
+  /**
+   * Submits a move for the player to move, if it is not a robot.
+   *
+   * @param coords are the coordinates of the move.
+   */
+  public void submitMove(Coord coords) {
+    this.submitted.add(Optional.of(Objects.requireNonNull(coords)));
+  }
+
+  /**
+   * Submits a pass for the player to move, if it is not a robot.
+   */
+  public void submitPass() {
+    this.submitted.add(Optional.empty());
+  }
+
+  /**
+   * Waits for the game to end.
+   *
+   * @param timeout is the longest time to wait.
+   * @return true if the game ended, or false if the time ran out.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  public boolean awaitEnd(Duration timeout) throws InterruptedException {
+    return this.ended.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Determines if the game is over.
+   *
+   * @return true if the game is over, false otherwise.
+   */
+  public boolean isOver() {
+    return this.over;
+  }
+
+  /**
+   * Gets the winner of the game.
+   *
+   * @return the winner, or null if the game was a draw or is not over.
+   */
+  public Player getWinner() {
+    return this.winner;
+  }
+
+  /**
+   * Gets the error that stopped the session before the game was over, as when a robot fails.
+   *
+   * @return the error, or null if there was none.
+   */
+  public Throwable getFailure() {
+    return this.failure;
+  }
+
+  /**
+   * Gets the game of the session.
+   *
+   * @return the game.
+   */
+  public ReversiModel getModel() {
+    return this.model;
+  }
+
+  /**
+   * Plays the game out, on the virtual thread of the session.
+   */
+  void run() {
+    try {
+      this.model.startGame(this.player1, this.player2, this.model.getBoard());
+      //a game that ends on a full board does not tell its listeners, so the game is asked too.
+      while (!this.over && !this.model.isGameOver()) {
+        Player player = this.model.getTurn();
+        if (player instanceof RobotPlayer) {
+          //the move starts the next turn, so the start of this one is read first.
+          long started = this.turnStarted;
+          this.host.getRobotPool().submit(() -> player.move(null)).get();
+          this.host.recordMoveLatency(System.nanoTime() - started);
+        } else {
+          this.playSubmitted(player, this.submitted.take());
+        }
+      }
+      this.over = true;
+      this.winner = this.findWinner();
+    } catch (InterruptedException e) {
+      //the host was closed.
+    } catch (ExecutionException e) {
+      this.failure = e.getCause();
+    } catch (RuntimeException e) {
+      this.failure = e;
+    } finally {
+      this.host.sessionEnded();
+      this.ended.countDown();
+    }
+  }
+
+  @Override
+  public void notifyPlayerChanged(Player currentPlayer) {
+    this.turnStarted = System.nanoTime();
+  }
+
+  @Override
+  public void notifyGameOver(Player winner) {
+    this.over = true;
+  }
+
+  @Override
+  public void notifyBoardUpdated() {
+    //the session has nothing to draw.
+  }
+
+  @Override
+  public void notifyIllegalMove(Player player) {
+    //the move is dropped, and the player can submit another.
+  }
+
+  @Override
+  public void notifyOutOfTurnMove(Player player) {
+    //the move is dropped, and the player can submit another.
+  }
+
+  /**
+   * Plays a submitted move, unless the game rejects it.
+   *
+   * @param player is the player to move.
+   * @param move   is the move, or empty for a pass.
+   */
+  private void playSubmitted(Player player, Optional<Coord> move) {
+    try {
+      if (move.isPresent()) {
+        this.model.makeMove(player, move.get());
+      } else {
+        this.model.passTurn(player);
+      }
+    } catch (IllegalStateException | IllegalArgumentException e) {
+      //the game has told its listeners about the rejected move.
+    }
+  }
+
+  /**
+   * Finds the winner of a finished game by its score.
+   *
+   * @return the winner, or null for a draw.
+   */
+  private Player findWinner() {
+    int margin = this.model.getScore(this.player1) - this.model.getScore(this.player2);
+    if (margin > 0) {
+      return this.player1;
+    }
+    return margin < 0 ? this.player2 : null;
+  }
+}
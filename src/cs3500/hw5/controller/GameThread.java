@@ -0,0 +1,56 @@
+package cs3500.hw5.controller;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The one thread that a game is played on. Every move, human or robot, is made on this thread, one
+ * after another, so the game is never changed by two threads at once and its listeners hear about
+ * each move in order. The thread does nothing slow itself: robots search elsewhere and hand their
+ * moves back to it, and views redraw themselves on the Swing event thread.
+ */
+public final class GameThread implements Executor, AutoCloseable {
+
+  private final ExecutorService executor;
+  private volatile Thread thread;
+
+  /**
+   * Constructor method. The thread is a daemon, so it does not keep the program running.
+   */
+  public GameThread() {
+    this.executor = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "reversi-game");
+      thread.setDaemon(true);
+      this.thread = thread;
+      return thread;
+    });
+  }
+
+  /**
+   * Runs a task on the game thread, after the tasks already given to it.
+   *
+   * @param task is the task.
+   */
+  @Override
+  public void execute(Runnable task) {
+    this.executor.execute(task);
+  }
+
+  /**
+   * Determines if the current thread is the game thread.
+   *
+   * @return true if called on the game thread, false otherwise.
+   */
+  public boolean isCurrent() {
+    return Thread.currentThread() == this.thread;
+  }
+
+  /**
+   * Stops the game thread once the tasks already given to it have run.
+   */
+  @Override
+  public void close() {
+    this.executor.shutdown();
+  }
+}
@@ -5,18 +5,21 @@ import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
 import cs3500.hw5.view.ReversiGUI;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 
 /**
  * Controller for coordinating interactions between the ReversiModel and ReversiGUI. Views utilizing
  * this controller will receive pop-up messages when it is their turn and when they have attempted
- * to make an illegal move.
+ * to make an illegal move. Moves are made through an executor of turns, which is the
+ * {@link TurnScheduler} of the calling thread unless the game is played on a {@link GameThread}.
  */
 public class ReversiGUIController implements ReversiController {
 
   private ReversiGUI view;
   private ReversiModel model;
   private Player player;
+  private final Executor turns;
 
   /**
    * Constructs a ReversiGUIController.
@@ -27,13 +30,30 @@ public class ReversiGUIController implements ReversiController {
    * @throws NullPointerException if any parameter is null
    */
   public ReversiGUIController(ReversiModel model, Player player, ReversiGUI view) {
+    this(model, player, view, TurnScheduler::run);
+  }
+
+  /**
+   * Constructs a ReversiGUIController that makes its moves through an executor, such as the
+   * thread the game is played on.
+   *
+   * @param model  the ReversiModel instance
+   * @param player the Player instance for the controller
+   * @param view   the ReversiGUI instance
+   * @param turns  the executor moves are made on
+   * @throws NullPointerException if any parameter is null
+   */
+  public ReversiGUIController(ReversiModel model, Player player, ReversiGUI view,
+      Executor turns) {
     Objects.requireNonNull(model);
+    Objects.requireNonNull(turns);
     Objects.requireNonNull(player);
     Objects.requireNonNull(view);
 
     this.view = view;
     this.model = model;
     this.player = player;
+    this.turns = turns;
 
     // Subscribe the controller as a listener to both view and model
     this.view.setFeaturesListener(this);
@@ -73,22 +93,26 @@ public class ReversiGUIController implements ReversiController {
 
   @Override
   public void makeMove(Coord coords) {
-    try {
-      model.makeMove(player, coords);
-    } catch (Exception e) {
-      //There need not be any output if the player attempts to make an illegal move since
-      //illegal moves are handled by the ModelFeatures class
-    }
-
+    //a robot replies only once every listener has heard about this move
+    turns.execute(() -> {
+      try {
+        model.makeMove(player, coords);
+      } catch (Exception e) {
+        //There need not be any output if the player attempts to make an illegal move since
+        //illegal moves are handled by the ModelFeatures class
+      }
+    });
   }
 
   @Override
   public void passTurn() {
-    try {
-      model.passTurn(player);
-    } catch (Exception e) {
-      //There need not be any output if the player attempts to make an illegal move since
-      //illegal moves are handled by the ModelFeatures class
-    }
+    turns.execute(() -> {
+      try {
+        model.passTurn(player);
+      } catch (Exception e) {
+        //There need not be any output if the player attempts to make an illegal move since
+        //illegal moves are handled by the ModelFeatures class
+      }
+    });
   }
 }
@@ -3,20 +3,32 @@ package cs3500.hw5.controller;
 import cs3500.hw5.model.Coord;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.RobotPlayer;
 import cs3500.hw5.view.ReversiGUI;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
 
 /**
  * Controller for an automated Reversi player (robot).
  *  Views utilizing this controller will NOT receive pop-up messages when it is their turn and
  *  when they have attempted to make an illegal move. This controller is not intended to have any
  *  human interaction.
+ *  The robot moves through the {@link TurnScheduler} of the thread the game is played on, so a game
+ *  between robots is played one turn after another, not one turn inside another.
+ *  Given a {@link GameThread} and an executor to search on, the robot instead searches a copy of
+ *  the game in the background, and its move is made on the game thread, so whatever thread told
+ *  the robot it was its turn, such as the Swing event thread after a human move, is not held up.
  */
 public class ReversiRobotController implements ReversiController {
 
   private ReversiGUI view;
+  private ReversiModel model;
   private Player player;
 
+  //the thread moves are made on and the executor robots search on, or null to move at once.
+  private final GameThread gameThread;
+  private final Executor searches;
 
   /**
    * Constructs a ReversiRobotController.
@@ -26,12 +38,36 @@ public class ReversiRobotController implements ReversiController {
    * @throws NullPointerException if any parameter is null
    */
   public ReversiRobotController(ReversiModel model, Player player, ReversiGUI view) {
+    this(model, player, view, null, null);
+  }
+
+  /**
+   * Constructs a ReversiRobotController whose robot searches in the background. The game must be
+   * played on the game thread.
+   * @param model the ReversiModel instance
+   * @param player the RobotPlayer instance
+   * @param view the ReversiGUI instance
+   * @param gameThread the thread the game is played on
+   * @param searches the executor the robot searches on
+   * @throws NullPointerException if any parameter is null
+   */
+  public ReversiRobotController(ReversiModel model, RobotPlayer player, ReversiGUI view,
+      GameThread gameThread, Executor searches) {
+    this(model, (Player) player, view, Objects.requireNonNull(gameThread),
+        Objects.requireNonNull(searches));
+  }
+
+  private ReversiRobotController(ReversiModel model, Player player, ReversiGUI view,
+      GameThread gameThread, Executor searches) {
     Objects.requireNonNull(model);
     Objects.requireNonNull(player);
     Objects.requireNonNull(view);
 
     this.view = view;
+    this.model = model;
     this.player = player;
+    this.gameThread = gameThread;
+    this.searches = searches;
 
     model.addFeaturesListener(this);
   }
@@ -40,12 +76,45 @@ public class ReversiRobotController implements ReversiController {
   @Override
   public void notifyPlayerChanged(Player currentPlayer) {
     if (currentPlayer.toString().equals(player.toString())) {
-      player.move(new Coord(-1, -1)); //placeholder move
+      if (searches == null) {
+        TurnScheduler.current().schedule(() -> player.move(new Coord(-1, -1))); //placeholder move
+      }
+      else {
+        this.searchInBackground((RobotPlayer) player);
+      }
     }
   }
 
+  /**
+   * Searches for the robot's move on a copy of the game, and makes the move on the game thread.
+   * @param robot the robot whose turn it is
+   */
+  private void searchInBackground(RobotPlayer robot) {
+    ReversiModel position = model.makeCopy();
+    searches.execute(() -> {
+      try {
+        Optional<Coord> move = robot.chooseMove(position);
+        gameThread.execute(() -> {
+          try {
+            //the game may have ended, or moved on, while the robot was searching
+            if (!model.isGameOver() && model.getTurn() == robot) {
+              robot.play(move);
+            }
+          } catch (RuntimeException e) {
+            view.showError("Robot " + robot + " failed: " + e);
+          }
+        });
+      } catch (RuntimeException e) {
+        gameThread.execute(() -> view.showError("Robot " + robot + " failed: " + e));
+      }
+    });
+  }
+
   @Override
   public void notifyGameOver(Player winner) {
+    if (player instanceof RobotPlayer) {
+      ((RobotPlayer) player).stopPondering();
+    }
     view.notifyGameOver(winner);
   }
 
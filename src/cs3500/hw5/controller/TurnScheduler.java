@@ -0,0 +1,92 @@
+package cs3500.hw5.controller;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+
+/**
+ * Runs the turns of robots one after another instead of one inside another. A robot moves when
+ * the game tells its controller that it is its turn, and the move makes the game tell the next
+ * controller, so without a scheduler a game between robots is one call stack that gets deeper
+ * with every move, until the game ends or the stack overflows.
+ *
+ * <p>A turn scheduled while another turn is running is queued, and run once the running turn,
+ * and every notification it caused, has returned. A turn scheduled when none is running is run at
+ * once, followed by every turn it queues. So every listener hears about each move, in the order
+ * the game tells them, before the next move is made, and the stack never grows past one turn.
+ * That holds for the first robot move too if whatever starts the game, or makes a human move,
+ * does so as a turn of the scheduler.
+ *
+ * <p>Each thread has its own scheduler, so the controllers of a game played on one thread share a
+ * scheduler without being told about each other.
+ */
+public final class TurnScheduler {
+
+  private static final ThreadLocal<TurnScheduler> CURRENT =
+      ThreadLocal.withInitial(TurnScheduler::new);
+
+  private final Queue<Runnable> turns = new ArrayDeque<>();
+  private boolean running;
+  private long turnsRun;
+
+  /**
+   * Gets the scheduler of the current thread.
+   *
+   * @return the scheduler.
+   */
+  public static TurnScheduler current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Runs a turn on the scheduler of the current thread. A reference to this method is an executor
+   * of turns for code that may be called on any thread.
+   *
+   * @param turn is the turn.
+   */
+  public static void run(Runnable turn) {
+    current().schedule(turn);
+  }
+
+  /**
+   * Runs a turn, now if no turn is running, or else after the turns already queued.
+   *
+   * @param turn is the turn.
+   * @throws RuntimeException if a turn fails, in which case the turns still queued are dropped.
+   */
+  public void schedule(Runnable turn) {
+    this.turns.add(Objects.requireNonNull(turn));
+    if (this.running) {
+      return;
+    }
+    this.running = true;
+    try {
+      Runnable next;
+      while ((next = this.turns.poll()) != null) {
+        next.run();
+        this.turnsRun++;
+      }
+    } finally {
+      this.turns.clear();
+      this.running = false;
+    }
+  }
+
+  /**
+   * Determines if a turn is running.
+   *
+   * @return true if a turn is running, false otherwise.
+   */
+  public boolean isRunning() {
+    return this.running;
+  }
+
+  /**
+   * Gets the number of turns run by the scheduler.
+   *
+   * @return the number of turns.
+   */
+  public long getTurnsRun() {
+    return this.turnsRun;
+  }
+}
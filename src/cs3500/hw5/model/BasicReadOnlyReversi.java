@@ -1,5 +1,7 @@
 package cs3500.hw5.model;
 
+import java.util.List;
+
 /**
  * Represents a read-only (no mutator methods) version of a BasicReversi model.
  */
@@ -40,6 +42,21 @@ public class BasicReadOnlyReversi extends BasicReversi implements ReadOnlyRevers
     return super.getScore(player);
   }
 
+  @Override
+  public int getEmptyCount() throws IllegalStateException {
+    return model.getEmptyCount();
+  }
+
+  @Override
+  public GamePhase getGamePhase() throws IllegalStateException {
+    return model.getGamePhase();
+  }
+
+  @Override
+  public long positionHash() throws IllegalStateException {
+    return model.positionHash();
+  }
+
   /**
    * Signals whether the game is over or not. A game is over if; Both players have passed their turn
    * in a row. There are no more possible moves to be made.
@@ -62,7 +79,22 @@ public class BasicReadOnlyReversi extends BasicReversi implements ReadOnlyRevers
   @Override
   public int getBoardSize()
       throws IllegalStateException {
-    return super.getBoard().size();
+    return model.getBoardSize();
+  }
+
+  @Override
+  public int rowLength(int row) throws IllegalArgumentException {
+    return model.rowLength(row);
+  }
+
+  @Override
+  public Hexagon getCell(int row, int col) throws IllegalArgumentException {
+    return model.getCell(row, col);
+  }
+
+  @Override
+  public List<List<Hexagon>> getBoardView() {
+    return model.getBoardView();
   }
 
   @Override
@@ -75,17 +107,10 @@ public class BasicReadOnlyReversi extends BasicReversi implements ReadOnlyRevers
   public Hexagon getCellContents(Coord coords)
       throws IllegalStateException, IllegalArgumentException {
 
-    if (!areCoordinatesInBounds(coords, super.getBoard())) {
+    if (coords == null) {
       throw new IllegalArgumentException("Invalid coordinates");
     }
-
-    if (model.getBoard().get(coords.row).get(coords.col).equals(Hexagon.X)) {
-      return Hexagon.X;
-    } else if (model.getBoard().get(coords.row).get(coords.col).equals(Hexagon.O)) {
-      return Hexagon.O;
-    } else {
-      return Hexagon.EMPTY;
-    }
+    return model.getCell(coords.row, coords.col);
   }
 
   /**
@@ -99,4 +124,9 @@ public class BasicReadOnlyReversi extends BasicReversi implements ReadOnlyRevers
       throws IllegalStateException, IllegalArgumentException {
     return super.hasLegalMove(player);
   }
+
+  @Override
+  public List<Coord> legalMoves(Player player) throws IllegalStateException {
+    return model.legalMoves(player);
+  }
 }
\ No newline at end of file
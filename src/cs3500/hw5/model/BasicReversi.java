@@ -2,6 +2,8 @@ package cs3500.hw5.model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
@@ -15,7 +17,10 @@ import java.util.Queue;
  * The game ends when the board is full or neither player can make a legal move.
  * The player with the most discs of their color wins.
  */
-public class BasicReversi implements ReversiModel {
+public class BasicReversi implements SearchableReversiModel {
+
+  // The hexagon stored as each byte of the board.
+  private static final Hexagon[] HEXAGONS = {Hexagon.EMPTY, Hexagon.X, Hexagon.O};
 
   // initialized list to be a new linked list.
   private final Queue<Player> players = new LinkedList<>();
@@ -39,7 +44,31 @@ public class BasicReversi implements ReversiModel {
   // In this example, the hexagon in the upper left is (0,0),
   // and the hexagon in the bottom right is (10, 5).
   // Note that the board is 0-indexed.
-  private List<List<Hexagon>> board;
+  // Each hexagon is stored as one byte at its cell number, as given by the geometry, so the
+  // whole board is a single flat array (see HEXAGONS for what each byte means).
+  private byte[] cells;
+
+  // The shape of the board, shared by every game of the same size. Its ray tables give the cells
+  // in a line from any hexagon, so scans never have to work out column offsets themselves.
+  private BoardGeometry geometry;
+
+  // A read-only view of the board that reads through to it.
+  private List<List<Hexagon>> boardView;
+
+  // Scratch space for the cells flipped by the latest move.
+  private int[] flipBuffer;
+
+  // The number of X and O hexagons on the board, kept up to date by every change to the board.
+  private int countX;
+  private int countO;
+
+  // The Zobrist hash of the discs on the board, and the keys it is built from.
+  private long boardHash;
+  private long[] zobristKeys;
+
+  // The cells where each player can move, updated around every cell that changes.
+  private LegalMoveSet legalCells;
+
   private boolean gameStarted;
 
   //INVARIANT:
@@ -51,8 +80,7 @@ public class BasicReversi implements ReversiModel {
    * are 11 and 6.
    */
   public BasicReversi() {
-    this.board = this.generateBoard(11, 6);
-    this.featuresListeners = new ArrayList<>();
+    this(11, 6);
   }
 
   /**
@@ -62,7 +90,35 @@ public class BasicReversi implements ReversiModel {
    * @param minWidth the minimum width of the board.
    */
   public BasicReversi(int maxWidth, int minWidth) {
-    this.board = this.generateBoard(maxWidth, minWidth);
+    List<List<Hexagon>> board = this.generateBoard(maxWidth, minWidth);
+    this.geometry = BoardGeometry.of(maxWidth, minWidth);
+    this.cells = this.packBoard(board);
+    this.boardView = new BoardView(this, this.geometry.rowCount());
+    this.featuresListeners = new ArrayList<>();
+  }
+
+  /**
+   * Copy constructor for a game of reversi. The copy starts in the same position as the original,
+   * with the same players, but without any listeners. The board is a single flat array, so
+   * copying it is cheap.
+   *
+   * @param original is the game to copy.
+   */
+  private BasicReversi(BasicReversi original) {
+    this.cells = original.cells.clone();
+    this.geometry = original.geometry;
+    this.boardView = new BoardView(this, this.geometry.rowCount());
+    this.featuresListeners = new ArrayList<>();
+    this.players.addAll(original.players);
+    this.countX = original.countX;
+    this.countO = original.countO;
+    this.boardHash = original.boardHash;
+    this.zobristKeys = original.zobristKeys;
+    if (original.legalCells != null) {
+      this.legalCells = new LegalMoveSet(original.legalCells);
+    }
+    this.gameStarted = original.gameStarted;
+    this.countPassedMoves = original.countPassedMoves;
   }
 
   /**
@@ -74,8 +130,11 @@ public class BasicReversi implements ReversiModel {
   @Override
   public List<List<Hexagon>> getBoard() throws IllegalArgumentException {
     List<List<Hexagon>> boardCopy = new ArrayList<>();
-    for (List<Hexagon> row : this.board) {
-      List<Hexagon> rowCopy = new ArrayList<>(row);
+    for (int row = 0; row < this.geometry.rowCount(); row++) {
+      List<Hexagon> rowCopy = new ArrayList<>(this.geometry.rowLength(row));
+      for (int col = 0; col < this.geometry.rowLength(row); col++) {
+        rowCopy.add(this.hexagonAt(this.geometry.cellIndex(row, col)));
+      }
       boardCopy.add(rowCopy);
     }
     return boardCopy;
@@ -83,12 +142,44 @@ public class BasicReversi implements ReversiModel {
 
   @Override
   public int getBoardSize() {
-    return this.board.size();
+    return this.geometry.rowCount();
+  }
+
+  @Override
+  public int rowLength(int row) throws IllegalArgumentException {
+    if (row < 0 || row >= this.geometry.rowCount()) {
+      throw new IllegalArgumentException("Row is invalid");
+    }
+    return this.geometry.rowLength(row);
+  }
+
+  @Override
+  public Hexagon getCell(int row, int col) throws IllegalArgumentException {
+    if (!this.geometry.isInBounds(row, col)) {
+      throw new IllegalArgumentException("Coordinates are invalid");
+    }
+    return this.hexagonAt(this.geometry.cellIndex(row, col));
+  }
+
+  @Override
+  public Hexagon getCell(int cell) throws IllegalArgumentException {
+    this.validateCell(cell);
+    return this.hexagonAt(cell);
+  }
+
+  @Override
+  public BoardGeometry getGeometry() {
+    return this.geometry;
+  }
+
+  @Override
+  public List<List<Hexagon>> getBoardView() {
+    return this.boardView;
   }
 
   @Override
   public ReversiModel makeCopy() {
-    return new BasicReversi();
+    return new BasicReversi(this);
   }
 
   /**
@@ -112,7 +203,14 @@ public class BasicReversi implements ReversiModel {
     this.gameStarted = true;
     players.add(player1);
     players.add(player2);
-    this.board = board;
+    this.geometry = BoardGeometry.of(board);
+    this.cells = this.packBoard(board);
+    this.boardView = new BoardView(this, this.geometry.rowCount());
+    this.countHexagons();
+    this.legalCells = new LegalMoveSet(this.geometry);
+    for (int cell = 0; cell < this.geometry.cellCount(); cell++) {
+      this.refreshLegalCell(cell);
+    }
     this.countPassedMoves = 0;
     notifyPlayerChanged(player1);
   }
@@ -141,18 +239,17 @@ public class BasicReversi implements ReversiModel {
 
     if (this.isGameOver()) {
       // find winner
-      int score1 = this.getScore(players.peek());
-      players.add(players.remove());
-      int score2 = this.getScore(players.peek());
-      players.add(players.remove());
+      Iterator<Player> order = players.iterator();
+      Player current = order.next();
+      Player other = order.next();
+      int score1 = this.getScore(current);
+      int score2 = this.getScore(other);
       Player winningPlayer = null;
       if (score1 > score2) {
-        winningPlayer = players.peek();
+        winningPlayer = current;
       }
       else if (score2 > score1) {
-        players.add(players.remove());
-        winningPlayer = players.peek();
-        players.add(players.remove());
+        winningPlayer = other;
       }
       notifyGameOver(winningPlayer);
     }
@@ -178,8 +275,17 @@ public class BasicReversi implements ReversiModel {
     if (this.isGameOver()) {
       return;
     }
-    this.verifyGameHasStarted();
     this.validateCoordinates(coords);
+    this.makeMove(player, this.geometry.cellIndex(coords.row, coords.col));
+  }
+
+  @Override
+  public void makeMove(Player player, int cell)
+      throws IllegalStateException, IllegalArgumentException {
+    if (this.isGameOver()) {
+      return;
+    }
+    this.validateCell(cell);
 
     if (!player.equals(players.peek())) {
       players.add(players.remove());
@@ -192,7 +298,7 @@ public class BasicReversi implements ReversiModel {
       return;
     }
 
-    if (!this.makeMoveIfPossible(player, coords)) {
+    if (!this.makeMoveIfPossible(player, cell)) {
       notifyIllegalMove(players.peek());
       throw new IllegalStateException("Move is illegal");
     }
@@ -214,6 +320,25 @@ public class BasicReversi implements ReversiModel {
     return players.peek();
   }
 
+  @Override
+  public int getEmptyCount() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    return this.geometry.cellCount() - this.countX - this.countO;
+  }
+
+  @Override
+  public GamePhase getGamePhase() throws IllegalStateException {
+    return GamePhase.of(this.getEmptyCount(), this.geometry.cellCount());
+  }
+
+  @Override
+  public long positionHash() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    // the turn moves around too often to track, but adding it in here is just as cheap
+    return this.hexagonOf(players.peek()) == Hexagon.O
+        ? this.boardHash ^ this.zobristKeys[0] : this.boardHash;
+  }
+
   @Override
   public boolean isGameOver() throws IllegalStateException {
     this.verifyGameHasStarted();
@@ -223,48 +348,52 @@ public class BasicReversi implements ReversiModel {
   @Override
   public int getScore(Player player) throws IllegalStateException {
     this.verifyGameHasStarted();
-    int score = 0;
-    for (List<Hexagon> list : this.board) {
-      for (Hexagon hexagon : list) {
-        if (hexagon.toString().equals(player.toString())) {
-          score++;
-        }
-      }
+    Hexagon own = this.hexagonOf(player);
+    if (own == Hexagon.X) {
+      return this.countX;
     }
-    return score;
+    return own == Hexagon.O ? this.countO : 0;
   }
 
+  /**
+   * Determines if a given move is valid for a given player. The legal moves of both players are
+   * kept up to date as the board changes, so this check is a single lookup.
+   *
+   * @param coords are the coordinates of the hexagon.
+   * @param player is the player to move.
+   * @return true if the move is valid, false otherwise.
+   */
   @Override
   public boolean isLegalMove(Coord coords, Player player) {
     if (!this.isHexagonEmpty(coords)) {
       return false;
     }
-    return (this.buildListForMoveDown(coords, 0, -1,
-        new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), player) ||
-        (this.buildListForMoveDown(coords, 1, 0,
-            new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), player)) ||
-
-        (this.buildListForMoveUp(coords, -1, 0,
-            new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), player)) ||
-        (this.buildListForMoveUp(coords, 0, 1,
-            new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), player)) ||
+    return this.isLegalMove(this.geometry.cellIndex(coords.row, coords.col), player);
+  }
 
-        this.buildListForMoveLaterally(coords,
-            new ArrayList<>(), new ArrayList<>(), 1, new ArrayList<>(), player) ||
-        this.buildListForMoveLaterally(coords,
-            new ArrayList<>(), new ArrayList<>(), -1, new ArrayList<>(), player));
+  @Override
+  public boolean isLegalMove(int cell, Player player) {
+    this.verifyGameHasStarted();
+    this.validateCell(cell);
+    Hexagon own = this.hexagonOf(player);
+    return own != null && this.legalCells.contains(own.ordinal(), cell);
   }
 
   @Override
   public boolean hasLegalMove(Player player) {
-    for (int row = 0; row < this.board.size(); row++) {
-      for (int col = 0; col < this.board.get(row).size(); col++) {
-        if (this.isLegalMove(new Coord(row, col), player)) {
-          return true;
-        }
-      }
+    this.verifyGameHasStarted();
+    Hexagon own = this.hexagonOf(player);
+    return own != null && !this.legalCells.isEmpty(own.ordinal());
+  }
+
+  @Override
+  public List<Coord> legalMoves(Player player) throws IllegalStateException {
+    this.verifyGameHasStarted();
+    Hexagon own = this.hexagonOf(player);
+    if (own == null) {
+      return Collections.emptyList();
     }
-    return false;
+    return this.legalCells.toList(own.ordinal());
   }
 
   @Override
@@ -272,6 +401,63 @@ public class BasicReversi implements ReversiModel {
     featuresListeners.add(listener);
   }
 
+  @Override
+  public UndoRecord doMove(Coord coords) throws IllegalStateException, IllegalArgumentException {
+    this.verifyGameHasStarted();
+    this.validateCoordinates(coords);
+    return this.doMove(this.geometry.cellIndex(coords.row, coords.col));
+  }
+
+  @Override
+  public UndoRecord doMove(int cell) throws IllegalStateException, IllegalArgumentException {
+    this.verifyGameHasStarted();
+    this.validateCell(cell);
+    int flipCount = -1;
+    if (this.hexagonAt(cell) == Hexagon.EMPTY) {
+      flipCount = this.placeDisc(cell, this.hexagonOf(players.peek()));
+    }
+    if (flipCount < 0) {
+      throw new IllegalStateException("Move is illegal");
+    }
+    UndoRecord record = new UndoRecord(cell, Arrays.copyOf(this.flipBuffer, flipCount),
+        this.countPassedMoves);
+    players.add(players.remove());
+    this.countPassedMoves = 0;
+    return record;
+  }
+
+  @Override
+  public UndoRecord doPass() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    UndoRecord record = new UndoRecord(-1, UndoRecord.NO_FLIPS, this.countPassedMoves);
+    players.add(players.remove());
+    this.countPassedMoves++;
+    return record;
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) throws IllegalStateException {
+    this.verifyGameHasStarted();
+    if (!record.isPass()) {
+      Hexagon own = this.hexagonAt(record.cell);
+      if (own == Hexagon.EMPTY) {
+        throw new IllegalStateException("Record does not match the game");
+      }
+      Hexagon other = own == Hexagon.X ? Hexagon.O : Hexagon.X;
+      this.setHexagon(record.cell, Hexagon.EMPTY);
+      for (int flip : record.flips) {
+        this.setHexagon(flip, other);
+      }
+      this.refreshLegalCellsAround(record.cell);
+      for (int flip : record.flips) {
+        this.refreshLegalCellsAround(flip);
+      }
+    }
+    // with two players, moving the queue on once more gives the turn back
+    players.add(players.remove());
+    this.countPassedMoves = record.passedMoves;
+  }
+
   /**
    * Notifies all registered listeners about a change in the current player.
    *
@@ -330,7 +516,158 @@ public class BasicReversi implements ReversiModel {
     this.verifyGameHasStarted();
     this.validateCoordinates(coords);
 
-    return (board.get(coords.row).get(coords.col).toString().equals(Hexagon.EMPTY.toString()));
+    return this.hexagonAt(this.geometry.cellIndex(coords.row, coords.col)) == Hexagon.EMPTY;
+  }
+
+  /**
+   * Determines if placing a disc on an empty cell would capture a line in any direction. Each
+   * direction is scanned only up to its first empty hexagon, and the scan stops at the first
+   * direction that can be captured.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @param own  is the hexagon of the player to move, or null if the player has none.
+   * @return true if the move would capture at least one line, false otherwise.
+   */
+  private boolean isLegalCell(int cell, Hexagon own) {
+    if (own == null) {
+      return false;
+    }
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      if (this.capturesRay(cell, direction, own)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Determines if placing a disc on a cell would capture the line in one direction. The line is
+   * the run of filled hexagons up to the first empty one, and it is captured if it ends with the
+   * player's hexagon and contains at least one hexagon of the other player.
+   *
+   * @param cell      is the cell number of the hexagon.
+   * @param direction is the direction, as numbered by the board geometry.
+   * @param own       is the hexagon of the player to move.
+   * @return true if the line would be captured, false otherwise.
+   */
+  private boolean capturesRay(int cell, int direction, Hexagon own) {
+    boolean containsOther = false;
+    Hexagon last = Hexagon.EMPTY;
+    int end = this.geometry.rayEnd(direction, cell);
+    for (int i = this.geometry.rayStart(direction, cell); i < end; i++) {
+      Hexagon hexagon = this.hexagonAt(this.geometry.rayCell(i));
+      if (hexagon == Hexagon.EMPTY) {
+        break;
+      }
+      if (hexagon != own) {
+        containsOther = true;
+      }
+      last = hexagon;
+    }
+    return containsOther && last == own;
+  }
+
+  /**
+   * Gets the hexagon on a cell of the board.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @return the hexagon.
+   */
+  private Hexagon hexagonAt(int cell) {
+    return HEXAGONS[this.cells[cell]];
+  }
+
+  /**
+   * Replaces the hexagon on a cell of the board.
+   *
+   * @param cell    is the cell number of the hexagon.
+   * @param hexagon is the new hexagon.
+   */
+  private void setHexagon(int cell, Hexagon hexagon) {
+    Hexagon previous = this.hexagonAt(cell);
+    this.cells[cell] = this.byteOf(hexagon);
+    this.countX += (hexagon == Hexagon.X ? 1 : 0) - (previous == Hexagon.X ? 1 : 0);
+    this.countO += (hexagon == Hexagon.O ? 1 : 0) - (previous == Hexagon.O ? 1 : 0);
+    this.boardHash ^= this.zobristKey(cell, previous) ^ this.zobristKey(cell, hexagon);
+  }
+
+  /**
+   * Gets the byte that stands for a hexagon on the board.
+   *
+   * @param hexagon is the hexagon.
+   * @return the byte, which is its index in HEXAGONS.
+   */
+  private byte byteOf(Hexagon hexagon) {
+    if (hexagon == Hexagon.X) {
+      return 1;
+    }
+    return hexagon == Hexagon.O ? (byte) 2 : 0;
+  }
+
+  /**
+   * Packs a board of any shape into a flat array of bytes, ordered by cell number.
+   *
+   * @param board is the board, which must have the shape of this game's geometry.
+   * @return the packed board.
+   */
+  private byte[] packBoard(List<List<Hexagon>> board) {
+    byte[] packed = new byte[this.geometry.cellCount()];
+    for (int row = 0; row < this.geometry.rowCount(); row++) {
+      for (int col = 0; col < this.geometry.rowLength(row); col++) {
+        packed[this.geometry.cellIndex(row, col)] = this.byteOf(board.get(row).get(col));
+      }
+    }
+    return packed;
+  }
+
+  /**
+   * Gets the Zobrist key of a hexagon on a cell.
+   *
+   * @param cell    is the cell number of the hexagon.
+   * @param hexagon is the hexagon.
+   * @return the key, or 0 for an empty hexagon.
+   */
+  private long zobristKey(int cell, Hexagon hexagon) {
+    if (hexagon == Hexagon.EMPTY) {
+      return 0;
+    }
+    return this.zobristKeys[1 + 2 * cell + hexagon.ordinal()];
+  }
+
+  /**
+   * Counts the X and O hexagons on the board, and hashes the board, from scratch.
+   */
+  private void countHexagons() {
+    this.countX = 0;
+    this.countO = 0;
+    this.boardHash = 0;
+    this.zobristKeys = this.geometry.zobristKeys();
+    for (int cell = 0; cell < this.geometry.cellCount(); cell++) {
+      Hexagon hexagon = this.hexagonAt(cell);
+      if (hexagon == Hexagon.X) {
+        this.countX++;
+      } else if (hexagon == Hexagon.O) {
+        this.countO++;
+      }
+      this.boardHash ^= this.zobristKey(cell, hexagon);
+    }
+  }
+
+  /**
+   * Gets the hexagon that a player places on the board.
+   *
+   * @param player is the player.
+   * @return the player's hexagon, or null if the player is neither X nor O.
+   */
+  private Hexagon hexagonOf(Player player) {
+    String description = player.toString();
+    if (Hexagon.X.toString().equals(description)) {
+      return Hexagon.X;
+    }
+    if (Hexagon.O.toString().equals(description)) {
+      return Hexagon.O;
+    }
+    return null;
   }
 
   /**
@@ -486,24 +823,6 @@ public class BasicReversi implements ReversiModel {
     board.get(coords.row).add(coords.col, updatedValue);
   }
 
-  /**
-   * Replaces the value in the board with a new value.
-   *
-   * @param coords are the coordinates of the hexagon.
-   * @param updatedValue is the new value.
-   * @throws IllegalArgumentException if any arguments are invalid.
-   */
-  private void changeBoardValue(Coord coords, Hexagon updatedValue) {
-    this.validateArgs(Arrays.asList(coords, updatedValue));
-    this.validateCoordinates(coords, this.board);
-    if (this.isInvalidNestedList(this.board)) {
-      throw new IllegalArgumentException("Board cannot be null");
-    }
-    this.board.get(coords.row).remove(coords.col);
-    this.board.get(coords.row).add(coords.col, updatedValue);
-  }
-
-
   /**
    * Validates that coordinates are in the bounds of the board.
    *
@@ -525,26 +844,24 @@ public class BasicReversi implements ReversiModel {
    * @throws IllegalArgumentException if the coordinates are invalid.
    */
   private void validateCoordinates(Coord coords) {
-    if (coords.row < 0 || coords.row >= this.board.size()) {
+    if (coords.row < 0 || coords.row >= this.geometry.rowCount()) {
       throw new IllegalArgumentException("Invalid row");
     }
-    if (coords.col < 0 || coords.col >= this.board.get(coords.row).size()) {
+    if (coords.col < 0 || coords.col >= this.geometry.rowLength(coords.row)) {
       throw new IllegalArgumentException("Invalid column");
     }
   }
 
   /**
-   * Determines if coordinates are in the bounds of the board.
+   * Validates that a cell number is on the board.
    *
-   * @param coords are the coordinates of the hexagon.
-   * @return true if the coordinates are in bounds, false otherwise.
+   * @param cell is the cell number of the hexagon.
+   * @throws IllegalArgumentException if the cell is not on the board.
    */
-  private boolean areCoordinatesInBounds(Coord coords) throws IllegalArgumentException {
-    if (coords.row < 0 || coords.row >= this.board.size()) {
-      return false;
+  private void validateCell(int cell) {
+    if (cell < 0 || cell >= this.geometry.cellCount()) {
+      throw new IllegalArgumentException("Invalid cell");
     }
-    boolean colValid = coords.col < 0 || coords.col >= this.board.get(coords.row).size();
-    return !colValid;
   }
 
   /**
@@ -564,38 +881,6 @@ public class BasicReversi implements ReversiModel {
   }
 
 
-  /**
-   * Determines if a list ends with a specified player.
-   *
-   * @param list   is the list to be checked.
-   * @param player is the player the list should end in.
-   * @return true if the list ends with the specified player, false otherwise.
-   */
-  private boolean listEndsInPlayer(List<Hexagon> list, Player player) {
-    if (list.size() == 0) {
-      return false;
-    }
-    return list.get(list.size() - 1).toString().equals(player.toString());
-  }
-
-  /**
-   * Determines if the list contains at least one different player than the player provided.
-   *
-   * @param list   is the list of hexagons.
-   * @param player is the player.
-   * @return true if there exists a hexagon corresponding to a player that isn't the one provided.
-   */
-  private boolean listContainsDifferentPlayer(List<Hexagon> list, Player player) {
-    for (Hexagon hexagon : list) {
-      if (!hexagon.toString().equals(Hexagon.EMPTY.toString()) && !hexagon.toString()
-          .equals(player.toString())) {
-        return true;
-      }
-
-    }
-    return false;
-  }
-
   /**
    * Checks the current status the gameStarted flag.
    *
@@ -617,278 +902,95 @@ public class BasicReversi implements ReversiModel {
   }
 
   /**
-   * Updates the hexagons to the bottom left of the player's move.
-   *
-   * @param player is the player to move.
-   * @param coords are the coordinates of the hexagon.
-   * @return true if the board changed, false otherwise.
-   */
-  private boolean moveBottomLeft(Player player, Coord coords) {
-    Coord originalCoords = new Coord(coords.row, coords.col);
-    List<Hexagon> list = new ArrayList<>();
-    List<Integer> rowList = new ArrayList<>();
-    List<Integer> colList = new ArrayList<>();
-
-    if (this.buildListForMoveDown(coords, 0, -1, list, rowList, colList, player)) {
-      this.updateBoard(player, originalCoords, list, rowList, colList);
-      return true;
-    }
-    return false;
-  }
-
-  /**
-   * Updates the hexagons to the bottom right of the player's move.
+   * Makes a move if the move is permissible.
    *
    * @param player is the player to move.
-   * @param coords are the coordinates of the hexagon.
-   * @return true if the board changed, false otherwise.
+   * @param cell   is the cell number of the hexagon.
+   * @return true if a move could be made, false otherwise.
    */
-  private boolean moveBottomRight(Player player, Coord coords) {
-    Coord originalCoords = new Coord(coords.row, coords.col);
-    List<Hexagon> list = new ArrayList<>();
-    List<Integer> rowList = new ArrayList<>();
-    List<Integer> colList = new ArrayList<>();
-
-    if (this.buildListForMoveDown(coords, 1, 0, list, rowList, colList, player)) {
-      this.updateBoard(player, originalCoords, list, rowList, colList);
-      return true;
-    }
-    return false;
+  private boolean makeMoveIfPossible(Player player, int cell) {
+    return this.hexagonAt(cell) == Hexagon.EMPTY
+        && this.placeDisc(cell, this.hexagonOf(player)) >= 0;
   }
 
   /**
-   * Updates the hexagons to the top left of the player's move.
+   * Places a disc on an empty cell and flips every line it captures. The lines in each direction
+   * never overlap, so flipping one cannot change another. The cells that changed color are
+   * written to the start of the flip buffer.
    *
-   * @param player is the player to move.
-   * @param coords are the coordinates of the hexagon.
-   * @return true if the board changed, false otherwise.
+   * @param cell is the cell number of the hexagon.
+   * @param own  is the hexagon of the player to move, or null if the player has none.
+   * @return the number of flipped hexagons, or -1 if no line was captured (the board is
+   *         unchanged).
    */
-  private boolean moveTopLeft(Player player, Coord coords) {
-    Coord originalCoords = new Coord(coords.row, coords.col);
-    List<Hexagon> list = new ArrayList<>();
-    List<Integer> rowList = new ArrayList<>();
-    List<Integer> colList = new ArrayList<>();
-
-    if (this.buildListForMoveUp(coords, -1, 0, list, rowList, colList, player)) {
-      this.updateBoard(player, originalCoords, list, rowList, colList);
-      return true;
+  private int placeDisc(int cell, Hexagon own) {
+    if (own == null) {
+      return -1;
     }
-    return false;
-  }
-
-  /**
-   * Updates the hexagons to the top right of the player's move.
-   *
-   * @param player is the player to move.
-   * @param coords are the coordinates of the hexagon.
-   * @return true if the board changed, false otherwise.
-   */
-  private boolean moveTopRight(Player player, Coord coords) {
-    Coord originalCoords = new Coord(coords.row, coords.col);
-    List<Hexagon> list = new ArrayList<>();
-    List<Integer> rowList = new ArrayList<>();
-    List<Integer> colList = new ArrayList<>();
-
-    if (this.buildListForMoveUp(coords, 0, 1, list, rowList, colList, player)) {
-      this.updateBoard(player, originalCoords, list, rowList, colList);
-      return true;
+    if (this.flipBuffer == null || this.flipBuffer.length < this.geometry.cellCount()) {
+      this.flipBuffer = new int[this.geometry.cellCount()];
     }
-    return false;
-  }
-
-  /**
-   * Updates the hexagons to the right of the player's move.
-   *
-   * @param player is the player to move.
-   * @param coords are the coordinates of the hexagon.
-   * @return true if the board changed, false otherwise.
-   */
-  private boolean moveRight(Player player, Coord coords) {
-    Coord originalCoords = new Coord(coords.row, coords.col);
-    List<Hexagon> list = new ArrayList<>();
-    List<Integer> rowList = new ArrayList<>();
-    List<Integer> colList = new ArrayList<>();
-
-    if (this.buildListForMoveLaterally(coords, list, rowList, 1, colList, player)) {
-      updateBoard(player, originalCoords, list, rowList, colList);
-      return true;
+    boolean captured = false;
+    int count = 0;
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      if (!this.capturesRay(cell, direction, own)) {
+        continue;
+      }
+      captured = true;
+      int end = this.geometry.rayEnd(direction, cell);
+      for (int i = this.geometry.rayStart(direction, cell); i < end; i++) {
+        int next = this.geometry.rayCell(i);
+        Hexagon hexagon = this.hexagonAt(next);
+        if (hexagon == Hexagon.EMPTY) {
+          break;
+        }
+        if (hexagon != own) {
+          this.flipBuffer[count] = next;
+          count++;
+          this.setHexagon(next, own);
+        }
+      }
     }
-    return false;
-
-  }
-
-
-  /**
-   * Updates the hexagons to the left of the player's move.
-   *
-   * @param player is the player to move.
-   * @param coords are the coordinates of the hexagon.
-   * @return true if the board changed, false otherwise.
-   */
-  private boolean moveLeft(Player player, Coord coords) {
-    Coord originalCoords = new Coord(coords.row, coords.col);
-    List<Hexagon> list = new ArrayList<>();
-    List<Integer> rowList = new ArrayList<>();
-    List<Integer> colList = new ArrayList<>();
-
-    if (this.buildListForMoveLaterally(coords, list, rowList, -1, colList, player)) {
-      this.updateBoard(player, originalCoords, list, rowList, colList);
-      return true;
+    if (!captured) {
+      return -1;
     }
-    return false;
-  }
-
-  /**
-   * Updates the board as a move is made.
-   *
-   * @param player      is the player who is moving.
-   * @param originalCoords are the original coordinates of the hexagon.
-   * @param list        is the list of hexagons that will be changed.
-   * @param rowList     is the list of row idxs that will be changed.
-   * @param colList     is the list of col idxs that will be changed.
-   */
-  private void updateBoard(Player player, Coord originalCoords, List<Hexagon> list,
-      List<Integer> rowList, List<Integer> colList) {
-    this.changeBoardValue(originalCoords, Hexagon.valueOf(player.toString()));
-    for (int i = 0; i < rowList.size(); i++) {
-      this.changeBoardValue(new Coord(rowList.get(i), colList.get(i)),
-          Hexagon.valueOf(player.toString()));
+    this.setHexagon(cell, own);
+    this.refreshLegalCellsAround(cell);
+    for (int i = 0; i < count; i++) {
+      this.refreshLegalCellsAround(this.flipBuffer[i]);
     }
-
+    return count;
   }
 
   /**
-   * Makes a move if the move is permissible.
+   * Updates the legal moves after a cell changed. A move on an empty cell only depends on the
+   * filled hexagons in each direction up to the next empty one, so the only moves that can change
+   * are the cell itself and the first empty hexagon in each direction from it.
    *
-   * @param player is the player to move.
-   * @param coords are the coordinates of the hexagon.
-   * @return true if a move could be made, false otherwise.
+   * @param cell is the cell number of the hexagon that changed.
    */
-  private boolean makeMoveIfPossible(Player player, Coord coords) {
-    this.validateCoordinates(coords);
-    if (!this.board.get(coords.row).get(coords.col).toString().equals(Hexagon.EMPTY.toString())) {
-      return false;
-    }
-    boolean success = false;
-    if (this.moveBottomRight(player, coords)) {
-      success = true;
-    }
-    if (this.moveTopRight(player, coords)) {
-      success = true;
-    }
-    if (this.moveBottomLeft(player, coords)) {
-      success = true;
-    }
-    if (this.moveTopLeft(player, coords)) {
-      success = true;
-    }
-    if (this.moveLeft(player, coords)) {
-      success = true;
-    }
-    if (this.moveRight(player, coords)) {
-      success = true;
-    }
-
-
-    return success;
-  }
-
-  /**
-   * Helper method that gets the filled hexagons in a line in a given direction.
-   *
-   * @param coords are the coordinates of the hexagon.
-   * @param list    is the last to add the hexagons to.
-   * @param rowList is the list of row coordinates.
-   * @param colList is the list of col coordinates.
-   */
-  private boolean buildListForMoveLaterally(Coord coords, List<Hexagon> list,
-      List<Integer> rowList, int increment, List<Integer> colList, Player player) {
-    int row = coords.row;
-    int col = coords.col;
-    col += increment;
-    while (this.areCoordinatesInBounds(new Coord(row, col))) {
-      if (board.get(row).get(col).toString().equals(Hexagon.EMPTY.toString())) {
-        break;
-      }
-      list.add(board.get(row).get(col));
-      rowList.add(row);
-      colList.add(col);
-      col += increment;
-    }
-    return this.listEndsInPlayer(list, player) && this.listContainsDifferentPlayer(list, player);
-  }
-
-  /**
-   * Helper method that gets the filled hexagons in a line in a given direction.
-   *
-   * @param coords are the coordinates of the hexagon.
-   * @param col1    is the amount to increment col if the coordinates are in the upper half.
-   * @param col2    is the amount to increment col if the coordinates are in the bottom half.
-   * @param list    is the last to add the hexagons to.
-   * @param rowList is the list of row coordinates.
-   * @param colList is the list of col coordinates.
-   */
-  private boolean buildListForMoveDown(Coord coords, int col1, int col2, List<Hexagon> list,
-      List<Integer> rowList, List<Integer> colList, Player player) {
-    int row = coords.row;
-    int col = coords.col;
-    row++;
-    if (row <= this.board.size() / 2) {
-      col += col1;
-    } else {
-      col += col2;
-    }
-    while (this.areCoordinatesInBounds(new Coord(row, col))) {
-      if (board.get(row).get(col).toString().equals(Hexagon.EMPTY.toString())) {
-        break;
-      }
-      list.add(board.get(row).get(col));
-      rowList.add(row);
-      colList.add(col);
-      row++;
-      if (row <= this.board.size() / 2) {
-        col += col1;
-      } else {
-        col += col2;
+  private void refreshLegalCellsAround(int cell) {
+    this.refreshLegalCell(cell);
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      int end = this.geometry.rayEnd(direction, cell);
+      for (int i = this.geometry.rayStart(direction, cell); i < end; i++) {
+        int next = this.geometry.rayCell(i);
+        if (this.hexagonAt(next) == Hexagon.EMPTY) {
+          this.refreshLegalCell(next);
+          break;
+        }
       }
     }
-    return this.listEndsInPlayer(list, player) && this.listContainsDifferentPlayer(list, player);
   }
 
   /**
-   * Helper method that gets the filled hexagons in a line in a given direction.
+   * Determines again whether each player can move on a cell.
    *
-   * @param coords are the coordinates of the hexagon.
-   * @param col1    is the amount to increment col if the coordinates are in the upper half.
-   * @param col2    is the amount to increment col if the coordinates are in the bottom half.
-   * @param list    is the last to add the hexagons to.
-   * @param rowList is the list of row coordinates.
-   * @param colList is the list of col coordinates.
-   */
-  private boolean buildListForMoveUp(Coord coords, int col1, int col2, List<Hexagon> list,
-      List<Integer> rowList, List<Integer> colList, Player player) {
-    int row = coords.row;
-    int col = coords.col;
-    row--;
-    if (row < this.board.size() / 2) {
-      col += col1;
-    } else {
-      col += col2;
-    }
-    while (this.areCoordinatesInBounds(new Coord(row, col))) {
-      if (board.get(row).get(col).toString().equals(Hexagon.EMPTY.toString())) {
-        break;
-      }
-      list.add(board.get(row).get(col));
-      rowList.add(row);
-      colList.add(col);
-      row--;
-      if (row < this.board.size() / 2) {
-        col += col1;
-      } else {
-        col += col2;
-      }
-    }
-    return this.listEndsInPlayer(list, player) && this.listContainsDifferentPlayer(list, player);
+   * @param cell is the cell number of the hexagon.
+   */
+  private void refreshLegalCell(int cell) {
+    boolean empty = this.hexagonAt(cell) == Hexagon.EMPTY;
+    this.legalCells.update(Hexagon.X.ordinal(), cell, empty && this.isLegalCell(cell, Hexagon.X));
+    this.legalCells.update(Hexagon.O.ordinal(), cell, empty && this.isLegalCell(cell, Hexagon.O));
   }
-}
\ No newline at end of file
+}
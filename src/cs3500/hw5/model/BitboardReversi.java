@@ -0,0 +1,829 @@
+package cs3500.hw5.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Represents a game of Hexagonal Reversi whose board is stored as bitboards.
+ * Every hexagon has the fixed cell number given by its {@link BoardGeometry}, and the discs of
+ * each player are stored as bits in a primitive long[] mask. The geometry also provides the mask
+ * of every cell in a straight line from a cell in the six hex directions, so that checking and
+ * flipping a line is a handful of mask operations rather than a walk over a nested list.
+ * The rules and notifications are identical to those of {@link BasicReversi}.
+ */
+public class BitboardReversi implements SearchableReversiModel {
+
+  //indexes of the two players in the disc masks.
+  private static final int X = 0;
+  private static final int O = 1;
+
+  private final Queue<Player> players = new LinkedList<>();
+  private final List<ModelFeatures> featuresListeners;
+
+  private final int maxWidth;
+  private final int minWidth;
+
+  private BoardGeometry geometry;
+  private int words;
+
+  //a read-only view of the board that reads through to the masks.
+  private List<List<Hexagon>> boardView;
+
+  //rays[direction][cell] is the mask of every cell in a line from the cell in that direction.
+  //the masks are shared by every game with the same geometry.
+  private long[][][] rays;
+
+  //discs[player] is the mask of every cell occupied by that player.
+  private long[][] discs;
+
+  //counts[player] is the number of discs that player has, kept in step with the masks.
+  private int[] counts;
+
+  //the Zobrist hash of the discs on the board, and the keys it is built from.
+  private long boardHash;
+  private long[] zobristKeys;
+
+  //the cells where each player can move, updated around every cell that changes.
+  private LegalMoveSet legalCells;
+
+  //scratch space for the cells flipped by the latest move.
+  private int[] flipBuffer;
+
+  private boolean gameStarted;
+
+  //INVARIANT:
+  //countPassedMoves is between 0 and 2 inclusive.
+  private int countPassedMoves;
+
+  /**
+   * Default Constructor for a game of Bitboard Reversi. The default values for maxwidth and
+   * minwidth are 11 and 6.
+   */
+  public BitboardReversi() {
+    this(11, 6);
+  }
+
+  /**
+   * Constructor for a bitboard game of reversi.
+   *
+   * @param maxWidth the maximum width of the board.
+   * @param minWidth the minimum width of the board.
+   * @throws IllegalArgumentException if the board would be too small.
+   */
+  public BitboardReversi(int maxWidth, int minWidth) {
+    this.useGeometry(BoardGeometry.of(maxWidth, minWidth));
+    this.maxWidth = maxWidth;
+    this.minWidth = minWidth;
+    this.featuresListeners = new ArrayList<>();
+
+    //starting discs surround the center of the board.
+    int startingRow = this.geometry.rowCount() / 2;
+    int startingCol = this.geometry.rowLength(startingRow) / 2;
+    this.setDisc(this.cellOf(startingRow - 1, startingCol - 1), X);
+    this.setDisc(this.cellOf(startingRow + 1, startingCol - 1), X);
+    this.setDisc(this.cellOf(startingRow, startingCol + 1), X);
+    this.setDisc(this.cellOf(startingRow - 1, startingCol), O);
+    this.setDisc(this.cellOf(startingRow + 1, startingCol), O);
+    this.setDisc(this.cellOf(startingRow, startingCol - 1), O);
+  }
+
+  /**
+   * Copy constructor for a bitboard game of reversi. The copy starts in the same position as the
+   * original, with the same players, but without any listeners. Copying the masks only copies a
+   * few longs per player.
+   *
+   * @param original is the game to copy.
+   */
+  private BitboardReversi(BitboardReversi original) {
+    this.useGeometry(original.geometry);
+    this.maxWidth = original.maxWidth;
+    this.minWidth = original.minWidth;
+    this.featuresListeners = new ArrayList<>();
+    this.players.addAll(original.players);
+    for (int color = X; color <= O; color++) {
+      System.arraycopy(original.discs[color], 0, this.discs[color], 0, this.words);
+      this.counts[color] = original.counts[color];
+    }
+    this.boardHash = original.boardHash;
+    if (original.legalCells != null) {
+      this.legalCells = new LegalMoveSet(original.legalCells);
+    }
+    this.gameStarted = original.gameStarted;
+    this.countPassedMoves = original.countPassedMoves;
+  }
+
+  @Override
+  public List<List<Hexagon>> getBoard() throws IllegalArgumentException {
+    List<List<Hexagon>> board = new ArrayList<>();
+    for (int row = 0; row < this.geometry.rowCount(); row++) {
+      List<Hexagon> hexagons = new ArrayList<>();
+      for (int col = 0; col < this.geometry.rowLength(row); col++) {
+        hexagons.add(this.hexagonAt(this.cellOf(row, col)));
+      }
+      board.add(hexagons);
+    }
+    return board;
+  }
+
+  @Override
+  public int getBoardSize() {
+    return this.geometry.rowCount();
+  }
+
+  @Override
+  public int rowLength(int row) throws IllegalArgumentException {
+    if (row < 0 || row >= this.geometry.rowCount()) {
+      throw new IllegalArgumentException("Row is invalid");
+    }
+    return this.geometry.rowLength(row);
+  }
+
+  @Override
+  public Hexagon getCell(int row, int col) throws IllegalArgumentException {
+    if (!this.geometry.isInBounds(row, col)) {
+      throw new IllegalArgumentException("Coordinates are invalid");
+    }
+    return this.hexagonAt(this.cellOf(row, col));
+  }
+
+  @Override
+  public Hexagon getCell(int cell) throws IllegalArgumentException {
+    this.validateCell(cell);
+    return this.hexagonAt(cell);
+  }
+
+  @Override
+  public BoardGeometry getGeometry() {
+    return this.geometry;
+  }
+
+  @Override
+  public List<List<Hexagon>> getBoardView() {
+    return this.boardView;
+  }
+
+  @Override
+  public ReversiModel makeCopy() {
+    return new BitboardReversi(this);
+  }
+
+  /**
+   * Starts this reversi game. The given board is packed into this game's bitboards, so it may
+   * have any shape.
+   *
+   * @param player1 the first player to move, assigned as black.
+   * @param player2 the second player to move, assigned as white.
+   * @param board   the board used for the game.
+   * @throws IllegalArgumentException if any of the arguments are null.
+   * @throws IllegalStateException    if the game has already started.
+   */
+  @Override
+  public void startGame(Player player1, Player player2, List<List<Hexagon>> board)
+      throws IllegalArgumentException, IllegalStateException {
+    if (player1 == null || player2 == null || board == null) {
+      throw new IllegalArgumentException("Argument(s) cannot be null");
+    }
+    for (List<Hexagon> row : board) {
+      if (row == null || row.contains(null)) {
+        throw new IllegalArgumentException("Argument(s) cannot be null");
+      }
+    }
+    if (this.gameStarted) {
+      throw new IllegalStateException("Game has already been started");
+    }
+
+    this.useGeometry(BoardGeometry.of(board));
+    for (int row = 0; row < this.geometry.rowCount(); row++) {
+      for (int col = 0; col < this.geometry.rowLength(row); col++) {
+        Hexagon hexagon = board.get(row).get(col);
+        if (hexagon == Hexagon.X) {
+          this.setDisc(this.cellOf(row, col), X);
+        } else if (hexagon == Hexagon.O) {
+          this.setDisc(this.cellOf(row, col), O);
+        }
+      }
+    }
+
+    this.legalCells = new LegalMoveSet(this.geometry);
+    for (int cell = 0; cell < this.geometry.cellCount(); cell++) {
+      this.refreshLegalCell(cell);
+    }
+
+    this.gameStarted = true;
+    players.add(player1);
+    players.add(player2);
+    this.countPassedMoves = 0;
+    notifyPlayerChanged(player1);
+  }
+
+  @Override
+  public void passTurn(Player player) throws IllegalStateException {
+    if (this.isGameOver()) {
+      return;
+    }
+    if (player != players.peek()) {
+      notifyOutOfTurnMove(player);
+      throw new IllegalStateException("It is not the turn of the player who request to pass");
+    }
+    players.add(players.remove());
+    countPassedMoves++;
+
+    if (this.isGameOver()) {
+      // find winner
+      Iterator<Player> order = players.iterator();
+      Player current = order.next();
+      Player other = order.next();
+      int score1 = this.getScore(current);
+      int score2 = this.getScore(other);
+      Player winningPlayer = null;
+      if (score1 > score2) {
+        winningPlayer = current;
+      } else if (score2 > score1) {
+        winningPlayer = other;
+      }
+      notifyGameOver(winningPlayer);
+    } else {
+      notifyBoardUpdated();
+      notifyPlayerChanged(players.peek());
+    }
+  }
+
+  @Override
+  public void makeMove(Player player, Coord coords)
+      throws IllegalStateException, IllegalArgumentException {
+    if (this.isGameOver()) {
+      return;
+    }
+    this.validateCoordinates(coords);
+    this.makeMove(player, this.cellOf(coords.row, coords.col));
+  }
+
+  @Override
+  public void makeMove(Player player, int cell)
+      throws IllegalStateException, IllegalArgumentException {
+    if (this.isGameOver()) {
+      return;
+    }
+    this.validateCell(cell);
+
+    if (!player.equals(players.peek())) {
+      players.add(players.remove());
+      notifyOutOfTurnMove(players.peek());
+      players.add(players.remove());
+      throw new IllegalStateException("It is not this players turn");
+    }
+    if (!this.hasLegalMove(player)) {
+      this.passTurn(player);
+      return;
+    }
+
+    int color = this.colorOf(player);
+    if (color < 0 || this.isOccupied(cell) || this.flip(cell, color) < 0) {
+      notifyIllegalMove(players.peek());
+      throw new IllegalStateException("Move is illegal");
+    }
+
+    players.add(players.remove());
+    countPassedMoves = 0;
+
+    notifyBoardUpdated();
+    notifyPlayerChanged(players.peek());
+  }
+
+  @Override
+  public Player getTurn() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    return players.peek();
+  }
+
+  @Override
+  public int getScore(Player player) throws IllegalStateException {
+    this.verifyGameHasStarted();
+    int color = this.colorOf(player);
+    if (color < 0) {
+      return 0;
+    }
+    return this.counts[color];
+  }
+
+  @Override
+  public long positionHash() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    //the turn moves around too often to track, but adding it in here is just as cheap.
+    return this.colorOf(players.peek()) == O
+        ? this.boardHash ^ this.zobristKeys[0] : this.boardHash;
+  }
+
+  @Override
+  public int getEmptyCount() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    return this.geometry.cellCount() - this.counts[X] - this.counts[O];
+  }
+
+  @Override
+  public GamePhase getGamePhase() throws IllegalStateException {
+    return GamePhase.of(this.getEmptyCount(), this.geometry.cellCount());
+  }
+
+  @Override
+  public boolean isGameOver() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    return this.countPassedMoves >= 2;
+  }
+
+  @Override
+  public boolean isLegalMove(Coord coords, Player player) {
+    this.verifyGameHasStarted();
+    this.validateCoordinates(coords);
+    return this.isLegalMove(this.cellOf(coords.row, coords.col), player);
+  }
+
+  @Override
+  public boolean isLegalMove(int cell, Player player) {
+    this.verifyGameHasStarted();
+    this.validateCell(cell);
+    int color = this.colorOf(player);
+    return color >= 0 && this.legalCells.contains(color, cell);
+  }
+
+  @Override
+  public boolean hasLegalMove(Player player) {
+    this.verifyGameHasStarted();
+    int color = this.colorOf(player);
+    return color >= 0 && !this.legalCells.isEmpty(color);
+  }
+
+  @Override
+  public List<Coord> legalMoves(Player player) throws IllegalStateException {
+    this.verifyGameHasStarted();
+    int color = this.colorOf(player);
+    if (color < 0) {
+      return Collections.emptyList();
+    }
+    return this.legalCells.toList(color);
+  }
+
+  @Override
+  public void addFeaturesListener(ModelFeatures listener) {
+    featuresListeners.add(listener);
+  }
+
+  @Override
+  public UndoRecord doMove(Coord coords) throws IllegalStateException, IllegalArgumentException {
+    this.verifyGameHasStarted();
+    this.validateCoordinates(coords);
+    return this.doMove(this.cellOf(coords.row, coords.col));
+  }
+
+  @Override
+  public UndoRecord doMove(int cell) throws IllegalStateException, IllegalArgumentException {
+    this.verifyGameHasStarted();
+    this.validateCell(cell);
+    int color = this.colorOf(players.peek());
+    int flipCount = -1;
+    if (color >= 0 && !this.isOccupied(cell)) {
+      flipCount = this.flip(cell, color);
+    }
+    if (flipCount < 0) {
+      throw new IllegalStateException("Move is illegal");
+    }
+    UndoRecord record = new UndoRecord(cell, Arrays.copyOf(this.flipBuffer, flipCount),
+        this.countPassedMoves);
+    players.add(players.remove());
+    this.countPassedMoves = 0;
+    return record;
+  }
+
+  @Override
+  public UndoRecord doPass() throws IllegalStateException {
+    this.verifyGameHasStarted();
+    UndoRecord record = new UndoRecord(-1, UndoRecord.NO_FLIPS, this.countPassedMoves);
+    players.add(players.remove());
+    this.countPassedMoves++;
+    return record;
+  }
+
+  @Override
+  public void undoMove(UndoRecord record) throws IllegalStateException {
+    this.verifyGameHasStarted();
+    if (!record.isPass()) {
+      if (!this.isOccupied(record.cell)) {
+        throw new IllegalStateException("Record does not match the game");
+      }
+      int color = (this.discs[X][record.cell >>> 6] & (1L << record.cell)) != 0 ? X : O;
+      this.discs[color][record.cell >>> 6] &= ~(1L << record.cell);
+      this.counts[color]--;
+      this.boardHash ^= this.zobristKey(record.cell, color);
+      for (int flip : record.flips) {
+        this.setDisc(flip, 1 - color);
+      }
+      this.refreshLegalCellsAround(record.cell);
+      for (int flip : record.flips) {
+        this.refreshLegalCellsAround(flip);
+      }
+    }
+    //with two players, moving the queue on once more gives the turn back.
+    players.add(players.remove());
+    this.countPassedMoves = record.passedMoves;
+  }
+
+  /**
+   * Notifies all registered listeners about a change in the current player.
+   *
+   * @param currentPlayer The Player object representing the current player.
+   */
+  private void notifyPlayerChanged(Player currentPlayer) {
+    for (ModelFeatures listener : featuresListeners) {
+      listener.notifyPlayerChanged(currentPlayer);
+    }
+  }
+
+  /**
+   * Notifies all registered listeners about the end of the game and the winner.
+   *
+   * @param winner The Player object representing the winner of the game.
+   */
+  private void notifyGameOver(Player winner) {
+    for (ModelFeatures listener : featuresListeners) {
+      listener.notifyGameOver(winner);
+    }
+  }
+
+  /**
+   * Notifies all registered listeners about updates to the game board.
+   */
+  private void notifyBoardUpdated() {
+    for (ModelFeatures listener : featuresListeners) {
+      listener.notifyBoardUpdated();
+    }
+  }
+
+  /**
+   * Notifies all registered listeners that a certain player attempted to make an illegal move.
+   *
+   * @param player is the player who attempted to make the move.
+   */
+  private void notifyIllegalMove(Player player) {
+    for (ModelFeatures listener : featuresListeners) {
+      listener.notifyIllegalMove(player);
+    }
+  }
+
+  /**
+   * Notifies all registered listeners that a certain player attempted to move out of turn.
+   *
+   * @param player is the player who attempted to make the move.
+   */
+  private void notifyOutOfTurnMove(Player player) {
+    for (ModelFeatures listener : featuresListeners) {
+      listener.notifyOutOfTurnMove(player);
+    }
+  }
+
+  /**
+   * Switches this game to a board of the given geometry. Any discs on the board are cleared.
+   *
+   * @param geometry is the geometry of the board.
+   */
+  private void useGeometry(BoardGeometry geometry) {
+    this.geometry = geometry;
+    this.boardView = new BoardView(this, geometry.rowCount());
+    this.words = (geometry.cellCount() + 63) / 64;
+    this.rays = geometry.rayMasks();
+    this.discs = new long[2][this.words];
+    this.counts = new int[2];
+    this.boardHash = 0;
+    this.zobristKeys = geometry.zobristKeys();
+  }
+
+  /**
+   * Determines whether the cells in a direction run in ascending cell number order. Rays that
+   * move down or right only ever reach higher numbered cells.
+   *
+   * @param direction is the direction of the ray.
+   * @return true if the ray is ascending, false otherwise.
+   */
+  private boolean isAscending(int direction) {
+    return direction == BoardGeometry.BOTTOM_RIGHT || direction == BoardGeometry.BOTTOM_LEFT
+        || direction == BoardGeometry.RIGHT;
+  }
+
+  /**
+   * Determines if placing a disc on a cell would capture a line in any direction.
+   *
+   * @param cell  is the cell of the move.
+   * @param color is the player making the move.
+   * @return true if the move captures at least one line, false otherwise.
+   */
+  private boolean capturesAny(int cell, int color) {
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      if (this.capturedRunEnd(direction, cell, color) != -2) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Places a disc on a cell and flips every line it captures. The cells that changed color are
+   * written to the start of the flip buffer.
+   *
+   * @param cell  is the cell of the move.
+   * @param color is the player making the move.
+   * @return the number of flipped discs, or -1 if no line was captured (the board is unchanged).
+   */
+  private int flip(int cell, int color) {
+    long[] own = this.discs[color];
+    long[] other = this.discs[1 - color];
+    if (this.flipBuffer == null || this.flipBuffer.length < this.geometry.cellCount()) {
+      this.flipBuffer = new int[this.geometry.cellCount()];
+    }
+    boolean success = false;
+    int count = 0;
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      int bound = this.capturedRunEnd(direction, cell, color);
+      if (bound == -2) {
+        continue;
+      }
+      long[] ray = this.rays[direction][cell];
+      boolean ascending = this.isAscending(direction);
+      for (int word = 0; word < this.words; word++) {
+        long run = ray[word] & this.runMask(word, bound, ascending);
+        for (long flipped = run & other[word]; flipped != 0; flipped &= flipped - 1) {
+          int flippedCell = (word << 6) + Long.numberOfTrailingZeros(flipped);
+          this.boardHash ^= this.zobristKey(flippedCell, color)
+              ^ this.zobristKey(flippedCell, 1 - color);
+          this.flipBuffer[count] = flippedCell;
+          count++;
+        }
+        own[word] |= run;
+        other[word] &= ~run;
+      }
+      success = true;
+    }
+    if (!success) {
+      return -1;
+    }
+    this.counts[color] += count;
+    this.counts[1 - color] -= count;
+    this.setDisc(cell, color);
+    this.refreshLegalCellsAround(cell);
+    for (int i = 0; i < count; i++) {
+      this.refreshLegalCellsAround(this.flipBuffer[i]);
+    }
+    return count;
+  }
+
+  /**
+   * Finds the run of occupied cells from a cell in a direction, up to the first empty cell, and
+   * determines whether placing a disc would capture it. A run is captured when it ends with the
+   * player's disc and contains at least one of the opponent's discs.
+   *
+   * @param direction is the direction of the ray.
+   * @param cell      is the cell of the move.
+   * @param color     is the player making the move.
+   * @return -2 if the run is not captured, otherwise the first empty cell of the ray (-1 if the
+   *         run reaches the edge of the board).
+   */
+  private int capturedRunEnd(int direction, int cell, int color) {
+    long[] ray = this.rays[direction][cell];
+    long[] own = this.discs[color];
+    long[] other = this.discs[1 - color];
+    boolean ascending = this.isAscending(direction);
+
+    //the first empty cell along the ray bounds the run.
+    int bound = this.firstEmpty(direction, cell);
+
+    //the run must contain an opponent's disc and end with the player's disc.
+    boolean containsOther = false;
+    int last = -1;
+    for (int word = 0; word < this.words; word++) {
+      long run = ray[word] & this.runMask(word, bound, ascending);
+      if ((run & other[word]) != 0) {
+        containsOther = true;
+      }
+      if (run != 0) {
+        if (ascending) {
+          last = (word << 6) + 63 - Long.numberOfLeadingZeros(run);
+        } else if (last < 0) {
+          last = (word << 6) + Long.numberOfTrailingZeros(run);
+        }
+      }
+    }
+    if (containsOther && last >= 0 && (own[last >>> 6] & (1L << last)) != 0) {
+      return bound;
+    }
+    return -2;
+  }
+
+  /**
+   * Finds the first empty cell in a direction from a cell.
+   *
+   * @param direction is the direction of the ray.
+   * @param cell      is the cell the ray starts from.
+   * @return the first empty cell of the ray, or -1 if every cell of the ray is occupied.
+   */
+  private int firstEmpty(int direction, int cell) {
+    long[] ray = this.rays[direction][cell];
+    long[] x = this.discs[X];
+    long[] o = this.discs[O];
+    if (this.isAscending(direction)) {
+      for (int word = 0; word < this.words; word++) {
+        long empty = ray[word] & ~(x[word] | o[word]);
+        if (empty != 0) {
+          return (word << 6) + Long.numberOfTrailingZeros(empty);
+        }
+      }
+    } else {
+      for (int word = this.words - 1; word >= 0; word--) {
+        long empty = ray[word] & ~(x[word] | o[word]);
+        if (empty != 0) {
+          return (word << 6) + 63 - Long.numberOfLeadingZeros(empty);
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Updates the legal moves after a cell changed. A move on an empty cell only depends on the
+   * discs in each direction up to the next empty cell, so the only moves that can change are the
+   * cell itself and the first empty cell in each direction from it.
+   *
+   * @param cell is the cell that changed.
+   */
+  private void refreshLegalCellsAround(int cell) {
+    this.refreshLegalCell(cell);
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      int empty = this.firstEmpty(direction, cell);
+      if (empty >= 0) {
+        this.refreshLegalCell(empty);
+      }
+    }
+  }
+
+  /**
+   * Determines again whether each player can move on a cell.
+   *
+   * @param cell is the cell.
+   */
+  private void refreshLegalCell(int cell) {
+    boolean empty = !this.isOccupied(cell);
+    this.legalCells.update(X, cell, empty && this.capturesAny(cell, X));
+    this.legalCells.update(O, cell, empty && this.capturesAny(cell, O));
+  }
+
+  /**
+   * Gets the part of a word of a mask that lies before the bound of a run.
+   *
+   * @param word      is the index of the word.
+   * @param bound     is the first empty cell of the ray, or -1 if there is none.
+   * @param ascending is true if the ray is ascending.
+   * @return the mask of cells in the word that are part of the run.
+   */
+  private long runMask(int word, int bound, boolean ascending) {
+    if (bound < 0) {
+      return -1L;
+    }
+    int boundWord = bound >>> 6;
+    int bit = bound & 63;
+    if (ascending) {
+      if (word < boundWord) {
+        return -1L;
+      }
+      return word > boundWord ? 0L : (1L << bit) - 1;
+    }
+    if (word > boundWord) {
+      return -1L;
+    }
+    return word < boundWord ? 0L : bit == 63 ? 0L : -1L << (bit + 1);
+  }
+
+  /**
+   * Places a disc of the given player on a cell.
+   *
+   * @param cell  is the cell.
+   * @param color is the player.
+   */
+  private void setDisc(int cell, int color) {
+    long bit = 1L << cell;
+    if ((this.discs[color][cell >>> 6] & bit) == 0) {
+      this.counts[color]++;
+      this.boardHash ^= this.zobristKey(cell, color);
+    }
+    if ((this.discs[1 - color][cell >>> 6] & bit) != 0) {
+      this.counts[1 - color]--;
+      this.boardHash ^= this.zobristKey(cell, 1 - color);
+    }
+    this.discs[color][cell >>> 6] |= bit;
+    this.discs[1 - color][cell >>> 6] &= ~bit;
+  }
+
+  /**
+   * Gets the Zobrist key of a disc on a cell.
+   *
+   * @param cell  is the cell.
+   * @param color is the player who owns the disc.
+   * @return the key.
+   */
+  private long zobristKey(int cell, int color) {
+    return this.zobristKeys[1 + 2 * cell + color];
+  }
+
+  /**
+   * Determines if a cell holds a disc.
+   *
+   * @param cell is the cell.
+   * @return true if either player has a disc on the cell, false otherwise.
+   */
+  private boolean isOccupied(int cell) {
+    return ((this.discs[X][cell >>> 6] | this.discs[O][cell >>> 6]) & (1L << cell)) != 0;
+  }
+
+  /**
+   * Gets the contents of a cell as a hexagon.
+   *
+   * @param cell is the cell.
+   * @return the hexagon.
+   */
+  private Hexagon hexagonAt(int cell) {
+    if ((this.discs[X][cell >>> 6] & (1L << cell)) != 0) {
+      return Hexagon.X;
+    }
+    if ((this.discs[O][cell >>> 6] & (1L << cell)) != 0) {
+      return Hexagon.O;
+    }
+    return Hexagon.EMPTY;
+  }
+
+  /**
+   * Gets the cell number of a hexagon.
+   *
+   * @param row is the row of the hexagon.
+   * @param col is the column of the hexagon.
+   * @return the cell number.
+   */
+  private int cellOf(int row, int col) {
+    return this.geometry.cellIndex(row, col);
+  }
+
+  /**
+   * Gets the index of a player's disc mask.
+   *
+   * @param player is the player.
+   * @return the index of the player, or -1 if the player is neither X nor O.
+   */
+  private int colorOf(Player player) {
+    String description = player.toString();
+    if (Hexagon.X.toString().equals(description)) {
+      return X;
+    }
+    if (Hexagon.O.toString().equals(description)) {
+      return O;
+    }
+    return -1;
+  }
+
+  /**
+   * Validates that coordinates are in the bounds of the board.
+   *
+   * @param coords are the coordinates of the hexagon.
+   * @throws IllegalArgumentException if the coordinates are invalid.
+   */
+  private void validateCoordinates(Coord coords) {
+    if (coords.row < 0 || coords.row >= this.geometry.rowCount()) {
+      throw new IllegalArgumentException("Invalid row");
+    }
+    if (coords.col < 0 || coords.col >= this.geometry.rowLength(coords.row)) {
+      throw new IllegalArgumentException("Invalid column");
+    }
+  }
+
+  /**
+   * Validates that a cell number is on the board.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+  private void validateCell(int cell) {
+    if (cell < 0 || cell >= this.geometry.cellCount()) {
+      throw new IllegalArgumentException("Invalid cell");
+    }
+  }
+
+  /**
+   * Verifies that the game has started.
+   *
+   * @throws IllegalStateException if the game has not started.
+   */
+  private void verifyGameHasStarted() {
+    if (!this.gameStarted) {
+      throw new IllegalStateException("This method cannot be called until the game has started");
+    }
+  }
+}
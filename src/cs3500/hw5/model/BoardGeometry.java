@@ -0,0 +1,382 @@
+package cs3500.hw5.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents the shape of a hexagonal Reversi board. Every hexagon is given a fixed cell number in
+ * row-major order (the hexagon in the upper left is cell 0), and for every cell the straight line
+ * of cells in each of the six hex directions is computed once, as a flat array of cell numbers.
+ * Walking a line is then a walk over an int array, with no column offsets or bounds checks.
+ *
+ * <p>A geometry never changes once built, so every game of the same size shares one instance,
+ * which can be obtained with {@link #of(int, int)}.
+ */
+public final class BoardGeometry {
+
+  /**
+   * The direction to the bottom right of a hexagon.
+   */
+  public static final int BOTTOM_RIGHT = 0;
+
+  /**
+   * The direction to the top right of a hexagon.
+   */
+  public static final int TOP_RIGHT = 1;
+
+  /**
+   * The direction to the bottom left of a hexagon.
+   */
+  public static final int BOTTOM_LEFT = 2;
+
+  /**
+   * The direction to the top left of a hexagon.
+   */
+  public static final int TOP_LEFT = 3;
+
+  /**
+   * The direction to the left of a hexagon.
+   */
+  public static final int LEFT = 4;
+
+  /**
+   * The direction to the right of a hexagon.
+   */
+  public static final int RIGHT = 5;
+
+  /**
+   * The number of directions a line can go in from a hexagon.
+   */
+  public static final int DIRECTIONS = 6;
+
+  //the Zobrist keys are drawn from a fixed seed so that hashes are the same in every run. The seed
+  //is mixed with the row lengths, so that a cell has different keys on boards of different sizes.
+  private static final long ZOBRIST_SEED = 0x5DEECE66DL;
+
+  //one geometry per (maxWidth, minWidth), shared by every game of that size.
+  private static final Map<Long, BoardGeometry> CACHE = new ConcurrentHashMap<>();
+
+  private final int[] rowLengths;
+  private final int[] rowOffsets;
+  private final int[] cellRows;
+  private final int[] cellCols;
+
+  //the ray of a cell in a direction is rayCells[rayStarts[i]] to rayCells[rayStarts[i + 1] - 1],
+  //where i = direction * cellCount + cell. Cells are listed from nearest to furthest.
+  private final int[] rayStarts;
+  private final int[] rayCells;
+
+  //lazily built bitboard masks of each ray, see rayMasks().
+  private volatile long[][][] rayMasks;
+
+  //lazily built Zobrist keys, see zobristKeys().
+  private volatile long[] zobristKeys;
+
+  /**
+   * Builds the geometry of a board with the given row lengths.
+   *
+   * @param rowLengths is the number of hexagons in each row.
+   */
+  private BoardGeometry(int[] rowLengths) {
+    this.rowLengths = rowLengths;
+    this.rowOffsets = new int[rowLengths.length];
+    int cells = 0;
+    for (int row = 0; row < rowLengths.length; row++) {
+      this.rowOffsets[row] = cells;
+      cells += rowLengths[row];
+    }
+    this.cellRows = new int[cells];
+    this.cellCols = new int[cells];
+    for (int row = 0; row < rowLengths.length; row++) {
+      for (int col = 0; col < rowLengths[row]; col++) {
+        this.cellRows[this.rowOffsets[row] + col] = row;
+        this.cellCols[this.rowOffsets[row] + col] = col;
+      }
+    }
+
+    this.rayStarts = new int[DIRECTIONS * cells + 1];
+    int longestLine = rowLengths.length;
+    for (int length : rowLengths) {
+      longestLine = Math.max(longestLine, length);
+    }
+    int[] buffer = new int[DIRECTIONS * cells * longestLine];
+    int size = 0;
+    for (int direction = 0; direction < DIRECTIONS; direction++) {
+      for (int cell = 0; cell < cells; cell++) {
+        this.rayStarts[direction * cells + cell] = size;
+        size = this.buildRay(direction, cell, buffer, size);
+      }
+    }
+    this.rayStarts[DIRECTIONS * cells] = size;
+    this.rayCells = Arrays.copyOf(buffer, size);
+  }
+
+  /**
+   * Gets the geometry of a hexagonal board of the given size.
+   *
+   * @param maxWidth the maximum width of the board.
+   * @param minWidth the minimum width of the board.
+   * @return the shared geometry for boards of this size.
+   * @throws IllegalArgumentException if the board would be too small.
+   */
+  public static BoardGeometry of(int maxWidth, int minWidth) throws IllegalArgumentException {
+    int buffer = maxWidth - minWidth;
+    if (buffer < 2 || minWidth < 1) {
+      throw new IllegalArgumentException("Board would be too small");
+    }
+    long key = ((long) maxWidth << 32) | minWidth;
+    return CACHE.computeIfAbsent(key, k -> {
+      int[] lengths = new int[buffer * 2 + 1];
+      for (int row = 0; row < lengths.length; row++) {
+        lengths[row] = maxWidth - Math.abs(buffer - row);
+      }
+      return new BoardGeometry(lengths);
+    });
+  }
+
+  /**
+   * Gets the geometry of an existing board. Hexagonal boards share the geometry of their size;
+   * boards of any other shape get a geometry of their own.
+   *
+   * @param board is the board.
+   * @return the geometry of the board.
+   * @throws IllegalArgumentException if the board or any of its rows are null.
+   */
+  public static BoardGeometry of(List<? extends List<?>> board) throws IllegalArgumentException {
+    if (board == null || board.contains(null)) {
+      throw new IllegalArgumentException("Board cannot be null");
+    }
+    int[] lengths = new int[board.size()];
+    for (int row = 0; row < lengths.length; row++) {
+      lengths[row] = board.get(row).size();
+    }
+    if (lengths.length > 0) {
+      int minWidth = lengths[0];
+      int maxWidth = lengths[lengths.length / 2];
+      if (maxWidth - minWidth >= 2 && minWidth >= 1) {
+        BoardGeometry geometry = BoardGeometry.of(maxWidth, minWidth);
+        if (Arrays.equals(geometry.rowLengths, lengths)) {
+          return geometry;
+        }
+      }
+    }
+    return new BoardGeometry(lengths);
+  }
+
+  /**
+   * Gets the number of rows of the board.
+   *
+   * @return the number of rows.
+   */
+  public int rowCount() {
+    return this.rowLengths.length;
+  }
+
+  /**
+   * Gets the number of hexagons in a row.
+   *
+   * @param row is the row.
+   * @return the number of hexagons in the row.
+   */
+  public int rowLength(int row) {
+    return this.rowLengths[row];
+  }
+
+  /**
+   * Gets the number of hexagons on the board.
+   *
+   * @return the number of cells.
+   */
+  public int cellCount() {
+    return this.cellRows.length;
+  }
+
+  /**
+   * Determines if coordinates are in the bounds of the board.
+   *
+   * @param row is the row.
+   * @param col is the column.
+   * @return true if the coordinates are on the board, false otherwise.
+   */
+  public boolean isInBounds(int row, int col) {
+    return row >= 0 && row < this.rowLengths.length && col >= 0 && col < this.rowLengths[row];
+  }
+
+  /**
+   * Gets the cell number of a hexagon. The coordinates are not validated.
+   *
+   * @param row is the row of the hexagon.
+   * @param col is the column of the hexagon.
+   * @return the cell number.
+   */
+  public int cellIndex(int row, int col) {
+    return this.rowOffsets[row] + col;
+  }
+
+  /**
+   * Gets the row of a cell.
+   *
+   * @param cell is the cell number.
+   * @return the row of the cell.
+   */
+  public int cellRow(int cell) {
+    return this.cellRows[cell];
+  }
+
+  /**
+   * Gets the column of a cell.
+   *
+   * @param cell is the cell number.
+   * @return the column of the cell.
+   */
+  public int cellCol(int cell) {
+    return this.cellCols[cell];
+  }
+
+  /**
+   * Gets where the ray of a cell starts. Together with {@link #rayEnd(int, int)} and
+   * {@link #rayCell(int)}, this walks every cell in a line from the cell, nearest first.
+   *
+   * @param direction is the direction of the ray.
+   * @param cell      is the cell the ray starts from (not part of the ray).
+   * @return the position of the first cell of the ray.
+   */
+  public int rayStart(int direction, int cell) {
+    return this.rayStarts[direction * this.cellRows.length + cell];
+  }
+
+  /**
+   * Gets where the ray of a cell ends.
+   *
+   * @param direction is the direction of the ray.
+   * @param cell      is the cell the ray starts from.
+   * @return the position after the last cell of the ray.
+   */
+  public int rayEnd(int direction, int cell) {
+    return this.rayStarts[direction * this.cellRows.length + cell + 1];
+  }
+
+  /**
+   * Gets a cell of a ray.
+   *
+   * @param position is a position between the start and end of a ray.
+   * @return the cell at that position.
+   */
+  public int rayCell(int position) {
+    return this.rayCells[position];
+  }
+
+  /**
+   * Gets the bitboard masks of every ray, where rayMasks()[direction][cell] has a bit set for
+   * each cell in the ray. The masks are built the first time they are needed and must not be
+   * modified.
+   *
+   * @return the ray masks.
+   */
+  long[][][] rayMasks() {
+    long[][][] masks = this.rayMasks;
+    if (masks == null) {
+      int cells = this.cellCount();
+      int words = (cells + 63) / 64;
+      masks = new long[DIRECTIONS][cells][words];
+      for (int direction = 0; direction < DIRECTIONS; direction++) {
+        for (int cell = 0; cell < cells; cell++) {
+          for (int i = this.rayStart(direction, cell); i < this.rayEnd(direction, cell); i++) {
+            masks[direction][cell][this.rayCells[i] >>> 6] |= 1L << this.rayCells[i];
+          }
+        }
+      }
+      this.rayMasks = masks;
+    }
+    return masks;
+  }
+
+  /**
+   * Gets the random keys used to hash positions on this board. Key 0 stands for O being the
+   * player to move, and key 1 + 2 * cell + player stands for a disc of that player (0 for X,
+   * 1 for O) on that cell. Boards of different sizes get different keys, so positions on them
+   * can share a transposition table. The keys are built the first time they are needed and must
+   * not be modified.
+   *
+   * @return the Zobrist keys.
+   */
+  long[] zobristKeys() {
+    long[] keys = this.zobristKeys;
+    if (keys == null) {
+      SplittableRandom random =
+          new SplittableRandom(ZOBRIST_SEED ^ Arrays.hashCode(this.rowLengths));
+      keys = new long[1 + 2 * this.cellCount()];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = random.nextLong();
+      }
+      this.zobristKeys = keys;
+    }
+    return keys;
+  }
+
+  /**
+   * Adds the cells in a straight line from a cell to a buffer. Moving up or down a row shifts
+   * the column differently in the upper and bottom halves of the board, since the rows are offset
+   * from each other.
+   *
+   * @param direction is the direction of the ray.
+   * @param cell      is the cell the ray starts from.
+   * @param buffer    is the buffer to add the cells to.
+   * @param size      is the number of cells already in the buffer.
+   * @return the number of cells in the buffer afterwards.
+   */
+  private int buildRay(int direction, int cell, int[] buffer, int size) {
+    int rowChange;
+    int col1;
+    int col2;
+    switch (direction) {
+      case BOTTOM_RIGHT:
+        rowChange = 1;
+        col1 = 1;
+        col2 = 0;
+        break;
+      case BOTTOM_LEFT:
+        rowChange = 1;
+        col1 = 0;
+        col2 = -1;
+        break;
+      case TOP_RIGHT:
+        rowChange = -1;
+        col1 = 0;
+        col2 = 1;
+        break;
+      case TOP_LEFT:
+        rowChange = -1;
+        col1 = -1;
+        col2 = 0;
+        break;
+      case LEFT:
+        rowChange = 0;
+        col1 = -1;
+        col2 = -1;
+        break;
+      default:
+        rowChange = 0;
+        col1 = 1;
+        col2 = 1;
+        break;
+    }
+
+    int half = this.rowLengths.length / 2;
+    int row = this.cellRows[cell];
+    int col = this.cellCols[cell];
+    while (true) {
+      row += rowChange;
+      boolean upperHalf = rowChange > 0 ? row <= half : row < half;
+      col += upperHalf ? col1 : col2;
+      if (!this.isInBounds(row, col)) {
+        return size;
+      }
+      buffer[size] = this.cellIndex(row, col);
+      size++;
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package cs3500.hw5.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a read-only view of the board of a game, which reads each hexagon straight from the
+ * model when it is asked for. The view always shows the current board, and reading it never
+ * copies the board. Any attempt to modify the view throws an UnsupportedOperationException.
+ */
+final class BoardView extends AbstractList<List<Hexagon>> {
+
+  private final List<List<Hexagon>> rows;
+
+  /**
+   * Creates a view of the board of a game.
+   *
+   * @param model    is the game whose board is viewed.
+   * @param rowCount is the number of rows of the board.
+   */
+  BoardView(ReversiModel model, int rowCount) {
+    this.rows = new ArrayList<>(rowCount);
+    for (int row = 0; row < rowCount; row++) {
+      this.rows.add(new RowView(model, row));
+    }
+  }
+
+  @Override
+  public List<Hexagon> get(int row) {
+    return this.rows.get(row);
+  }
+
+  @Override
+  public int size() {
+    return this.rows.size();
+  }
+
+  /**
+   * Represents a read-only view of one row of the board.
+   */
+  private static final class RowView extends AbstractList<Hexagon> {
+
+    private final ReversiModel model;
+    private final int row;
+
+    /**
+     * Creates a view of a row of the board.
+     *
+     * @param model is the game whose board is viewed.
+     * @param row   is the row.
+     */
+    RowView(ReversiModel model, int row) {
+      this.model = model;
+      this.row = row;
+    }
+
+    @Override
+    public Hexagon get(int col) {
+      return this.model.getCell(this.row, col);
+    }
+
+    @Override
+    public int size() {
+      return this.model.rowLength(this.row);
+    }
+  }
+}
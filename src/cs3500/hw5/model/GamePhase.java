@@ -0,0 +1,39 @@
+package cs3500.hw5.model;
+
+/**
+ * Represents how far a game of Reversi has progressed, judged by how much of the board is filled.
+ */
+public enum GamePhase {
+
+  /**
+   * Less than a quarter of the board is filled.
+   */
+  OPENING,
+
+  /**
+   * Neither the opening nor the endgame.
+   */
+  MIDGAME,
+
+  /**
+   * At most a quarter of the board is empty.
+   */
+  ENDGAME;
+
+  /**
+   * Gets the phase of a game from the number of empty hexagons on its board.
+   *
+   * @param emptyCount is the number of empty hexagons.
+   * @param cellCount  is the total number of hexagons.
+   * @return the phase of the game.
+   */
+  public static GamePhase of(int emptyCount, int cellCount) {
+    if (emptyCount <= cellCount / 4) {
+      return ENDGAME;
+    }
+    if (cellCount - emptyCount < cellCount / 4) {
+      return OPENING;
+    }
+    return MIDGAME;
+  }
+}
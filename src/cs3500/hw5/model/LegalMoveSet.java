@@ -0,0 +1,117 @@
+package cs3500.hw5.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the cells where each player can legally move, stored as one bit per cell. The models
+ * keep this up to date as the board changes, so checking or listing legal moves never has to scan
+ * the board. Player 0 is X and player 1 is O.
+ */
+final class LegalMoveSet {
+
+  private final BoardGeometry geometry;
+
+  //cells[player] has a bit set for every cell where that player can move.
+  private final long[][] cells;
+
+  //the legal moves of each player as coordinates, built when first asked for after a change.
+  private List<Coord> movesX;
+  private List<Coord> movesO;
+
+  /**
+   * Creates an empty set of legal moves for a board.
+   *
+   * @param geometry is the geometry of the board.
+   */
+  LegalMoveSet(BoardGeometry geometry) {
+    this.geometry = geometry;
+    this.cells = new long[2][(geometry.cellCount() + 63) / 64];
+  }
+
+  /**
+   * Copies a set of legal moves.
+   *
+   * @param other is the set to copy.
+   */
+  LegalMoveSet(LegalMoveSet other) {
+    this.geometry = other.geometry;
+    this.cells = new long[][] {other.cells[0].clone(), other.cells[1].clone()};
+    this.movesX = other.movesX;
+    this.movesO = other.movesO;
+  }
+
+  /**
+   * Determines if a player can move on a cell.
+   *
+   * @param player is the player, 0 for X and 1 for O.
+   * @param cell   is the cell number.
+   * @return true if the move is legal, false otherwise.
+   */
+  boolean contains(int player, int cell) {
+    return (this.cells[player][cell >>> 6] & (1L << cell)) != 0;
+  }
+
+  /**
+   * Determines if a player has no legal moves.
+   *
+   * @param player is the player, 0 for X and 1 for O.
+   * @return true if the player cannot move anywhere, false otherwise.
+   */
+  boolean isEmpty(int player) {
+    for (long word : this.cells[player]) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Records whether a player can move on a cell.
+   *
+   * @param player is the player, 0 for X and 1 for O.
+   * @param cell   is the cell number.
+   * @param legal  is true if the move is legal, false otherwise.
+   */
+  void update(int player, int cell, boolean legal) {
+    if (this.contains(player, cell) == legal) {
+      return;
+    }
+    this.cells[player][cell >>> 6] ^= 1L << cell;
+    if (player == 0) {
+      this.movesX = null;
+    } else {
+      this.movesO = null;
+    }
+  }
+
+  /**
+   * Gets the legal moves of a player in row-major order. The list cannot be modified, and it does
+   * not change when the board does; a new list is built after the next change.
+   *
+   * @param player is the player, 0 for X and 1 for O.
+   * @return the legal moves of the player.
+   */
+  List<Coord> toList(int player) {
+    List<Coord> moves = player == 0 ? this.movesX : this.movesO;
+    if (moves == null) {
+      List<Coord> built = new ArrayList<>();
+      long[] words = this.cells[player];
+      for (int word = 0; word < words.length; word++) {
+        for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+          int cell = (word << 6) + Long.numberOfTrailingZeros(bits);
+          built.add(new Coord(this.geometry.cellRow(cell), this.geometry.cellCol(cell)));
+        }
+      }
+      moves = Collections.unmodifiableList(built);
+      if (player == 0) {
+        this.movesX = moves;
+      } else {
+        this.movesO = moves;
+      }
+    }
+    return moves;
+  }
+}
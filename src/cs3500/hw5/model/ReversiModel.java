@@ -17,14 +17,43 @@ public interface ReversiModel {
   List<List<Hexagon>> getBoard() throws IllegalArgumentException;
 
   /**
-   * Returns the size of the board.
+   * Returns the size of the board, which is its number of rows.
    *
    * @return the size of the board.
    */
   int getBoardSize();
 
   /**
-   * Makes a copy of the game.
+   * Gets the number of hexagons in a row of the board.
+   *
+   * @param row is the row.
+   * @return the number of hexagons in the row.
+   * @throws IllegalArgumentException if the row is not on the board.
+   */
+  int rowLength(int row) throws IllegalArgumentException;
+
+  /**
+   * Gets the hexagon at a position on the board, without copying the board.
+   *
+   * @param row is the row of the hexagon.
+   * @param col is the column of the hexagon.
+   * @return the hexagon.
+   * @throws IllegalArgumentException if the coordinates are not on the board.
+   */
+  Hexagon getCell(int row, int col) throws IllegalArgumentException;
+
+  /**
+   * Returns a read-only view of the board. Unlike {@link #getBoard()}, the view is not a copy: it
+   * always shows the current board, and reading it does not allocate.
+   *
+   * @return the board, as a nested List of hexagons that cannot be modified.
+   */
+  List<List<Hexagon>> getBoardView();
+
+  /**
+   * Makes a copy of the game in its current position: the board, the players, the turn and the
+   * count of passed moves. Listeners are not copied, and changes to either game do not affect the
+   * other. A copy of a game that hasn't started has not started either.
    *
    * @return an object of the same type.
    */
@@ -82,6 +111,31 @@ public interface ReversiModel {
    */
   int getScore(Player player) throws IllegalStateException;
 
+  /**
+   * Returns the number of hexagons on the board that are not filled in.
+   *
+   * @return the number of empty hexagons.
+   * @throws IllegalStateException if the game hasn't been started yet.
+   */
+  int getEmptyCount() throws IllegalStateException;
+
+  /**
+   * Returns how far the game has progressed, judged by how much of the board is filled.
+   *
+   * @return the phase of the game.
+   * @throws IllegalStateException if the game hasn't been started yet.
+   */
+  GamePhase getGamePhase() throws IllegalStateException;
+
+  /**
+   * Returns a 64-bit hash of the position: the discs on the board and the player to move.
+   * Equal positions always have equal hashes, in every implementation of the model, and the
+   * hash is kept up to date as moves are made, so this does not scan the board.
+   *
+   * @return the hash of the position.
+   * @throws IllegalStateException if the game hasn't been started yet.
+   */
+  long positionHash() throws IllegalStateException;
 
   /**
    * Signals whether the game is over or not. A game is over if; Both players have passed their turn
@@ -109,6 +163,16 @@ public interface ReversiModel {
    */
   boolean hasLegalMove(Player player);
 
+  /**
+   * Gets every move a player can legally make, in row-major order. The models keep the legal
+   * moves up to date as the board changes, so this does not scan the board.
+   *
+   * @param player is the player.
+   * @return the legal moves, as a list that cannot be modified.
+   * @throws IllegalStateException if the game hasn't been started yet.
+   */
+  List<Coord> legalMoves(Player player) throws IllegalStateException;
+
   /**
    * Adds a features listener to the model.
    *
@@ -1,6 +1,11 @@
 package cs3500.hw5.model;
 
+import cs3500.hw5.strategies.AnytimeStrategy;
+import cs3500.hw5.strategies.ClockManager;
+import cs3500.hw5.strategies.OpeningBook;
+import cs3500.hw5.strategies.Ponderer;
 import cs3500.hw5.strategies.ReversiStrategy;
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -8,6 +13,11 @@ import java.util.Optional;
  * Represents a robot player in a Reversi game.
  * The fundamental difference between a robot player and a human player is that the
  * robot player will use a strategy to determine their move.
+ * A robot player with a clock gives a strategy that can be stopped at any time only the time its
+ * clock allots to each move.
+ * A pondering robot keeps searching on its opponent's time, from the reply it expects.
+ * A robot with an opening book plays the move of the book, without searching, for any position
+ * the book has.
  */
 public class RobotPlayer implements Player {
 
@@ -16,6 +26,19 @@ public class RobotPlayer implements Player {
 
   ReversiStrategy strategy;
 
+  //the clock of the player, or null if its moves are not timed.
+  private final ClockManager clock;
+
+  private final boolean pondering;
+
+  //the ponderer searching on the opponent's time, or null if the robot is not pondering.
+  private Ponderer ponderer;
+  private int ponderHits;
+
+  //the book of opening moves, or null if the robot has none.
+  private OpeningBook book;
+  private int bookMoves;
+
   /**
    * Constructor for a robot player of Reversi.
    * @param model is the model.
@@ -24,6 +47,35 @@ public class RobotPlayer implements Player {
    * @throws IllegalArgumentException if any args are null.
    */
   public RobotPlayer(ReversiModel model, String description, ReversiStrategy strategy) {
+    this(model, description, strategy, null, false);
+  }
+
+  /**
+   * Constructor for a robot player of Reversi whose moves are timed.
+   * @param model is the model.
+   * @param description is the value the player holds (e.g. "X" or "O").
+   * @param strategy is the strategy the robot will use.
+   * @param clock is the clock that allots time to each move of the robot.
+   * @throws IllegalArgumentException if any args are null.
+   */
+  public RobotPlayer(ReversiModel model, String description, ReversiStrategy strategy,
+      ClockManager clock) {
+    this(model, description, strategy, Objects.requireNonNull(clock), false);
+  }
+
+  /**
+   * Constructor for a robot player of Reversi that may ponder on its opponent's time. Pondering
+   * only happens with a strategy that can be stopped at any time.
+   * @param model is the model.
+   * @param description is the value the player holds (e.g. "X" or "O").
+   * @param strategy is the strategy the robot will use.
+   * @param clock is the clock that allots time to each move of the robot, or null if its moves
+   *              are not timed.
+   * @param pondering is true if the robot should ponder.
+   * @throws IllegalArgumentException if the model, description or strategy are null.
+   */
+  public RobotPlayer(ReversiModel model, String description, ReversiStrategy strategy,
+      ClockManager clock, boolean pondering) {
     Objects.requireNonNull(model);
     Objects.requireNonNull(description);
     Objects.requireNonNull(strategy);
@@ -31,6 +83,8 @@ public class RobotPlayer implements Player {
     this.model = model;
     this.description = description;
     this.strategy = strategy;
+    this.clock = clock;
+    this.pondering = pondering;
   }
 
   @Override
@@ -45,7 +99,70 @@ public class RobotPlayer implements Player {
 
   @Override
   public void move(Coord coords) throws IllegalStateException, IllegalArgumentException {
-    Optional<Coord> move = strategy.makeCopy().chooseMove(model, this);
+    this.play(this.chooseMove(model));
+  }
+
+  /**
+   * Chooses the move of the robot in a position, without making it. The position may be a copy of
+   * the game, so that the robot can search on another thread while the game is left alone.
+   * @param position is the game, or a copy of it, where it is the robot's turn.
+   * @return the move, or empty to pass.
+   */
+  public Optional<Coord> chooseMove(ReversiModel position) {
+    Optional<Coord> bookMove = book == null ? Optional.empty() : book.lookup(position, this);
+    if (bookMove.isPresent()) {
+      //the book has already searched the position, so there is nothing for a ponderer to add.
+      this.stopPondering();
+      bookMoves++;
+      return bookMove;
+    }
+
+    //on a ponder hit, the strategy that pondered already knows much of the position.
+    ReversiStrategy copy = strategy.makeCopy();
+    if (ponderer != null) {
+      if (ponderer.stop(position)) {
+        copy = ponderer.getStrategy();
+        ponderHits++;
+      }
+      ponderer = null;
+    }
+
+    Optional<Coord> move;
+    if (clock == null) {
+      move = copy.chooseMove(position, this);
+    }
+    else {
+      long start = System.nanoTime();
+      if (copy instanceof AnytimeStrategy) {
+        move = ((AnytimeStrategy) copy).chooseMove(position, this, clock.budgetFor(position));
+      }
+      else {
+        move = copy.chooseMove(position, this);
+      }
+      clock.recordMove(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    //pondering starts before the move is made, since the opponent may reply within makeMove.
+    if (pondering && copy instanceof AnytimeStrategy) {
+      ReversiModel after = position.makeCopy();
+      if (move.isEmpty()) {
+        after.passTurn(this);
+      }
+      else {
+        after.makeMove(this, move.get());
+      }
+      ponderer = new Ponderer((AnytimeStrategy) copy, after, this);
+      ponderer.start();
+    }
+    return move;
+  }
+
+  /**
+   * Makes a move chosen by {@link #chooseMove(ReversiModel)} in the game.
+   * @param move is the move, or empty to pass.
+   * @throws IllegalStateException if it is not the robot's turn or the move is illegal.
+   */
+  public void play(Optional<Coord> move) throws IllegalStateException {
     if (move.isEmpty()) {
       this.pass();
     }
@@ -53,4 +170,46 @@ public class RobotPlayer implements Player {
       model.makeMove(this, move.get());
     }
   }
+
+  /**
+   * Gives the robot a book of opening moves, which it consults before its strategy.
+   * @param book is the book, or null to play without one.
+   */
+  public void setOpeningBook(OpeningBook book) {
+    this.book = book;
+  }
+
+  /**
+   * Gets the number of moves the robot has played from its opening book.
+   * @return the number of book moves.
+   */
+  public int getBookMoves() {
+    return bookMoves;
+  }
+
+  /**
+   * Stops pondering, as when the game is over.
+   */
+  public void stopPondering() {
+    if (ponderer != null) {
+      ponderer.stop(model);
+      ponderer = null;
+    }
+  }
+
+  /**
+   * Gets the ponderer searching on the opponent's time.
+   * @return the ponderer, or null if the robot is not pondering.
+   */
+  public Ponderer getPonderer() {
+    return ponderer;
+  }
+
+  /**
+   * Gets the number of moves for which the opponent made the reply the robot pondered.
+   * @return the number of ponder hits.
+   */
+  public int getPonderHits() {
+    return ponderHits;
+  }
 }
@@ -0,0 +1,89 @@
+package cs3500.hw5.model;
+
+/**
+ * Represents a Reversi model that strategies can search in place. Moves made through this
+ * interface do not notify any listeners, and each one returns a record that undoes it, so a
+ * strategy can walk a tree of moves on a single model instead of copying the model for every
+ * candidate move.
+ *
+ * <p>Hexagons can also be named by their cell number, as given by {@link #getGeometry()}, which
+ * saves building a {@link Coord} for every move a search looks at.
+ */
+public interface SearchableReversiModel extends ReversiModel {
+
+  /**
+   * Makes a move for the player whose turn it is, without notifying any listeners.
+   *
+   * @param coords are the coordinates of the hexagon.
+   * @return the record that undoes the move.
+   * @throws IllegalStateException    if the game hasn't started or the move is illegal.
+   * @throws IllegalArgumentException if the coordinates are invalid.
+   */
+  UndoRecord doMove(Coord coords) throws IllegalStateException, IllegalArgumentException;
+
+  /**
+   * Makes a move on a cell for the player whose turn it is, without notifying any listeners.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @return the record that undoes the move.
+   * @throws IllegalStateException    if the game hasn't started or the move is illegal.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+  UndoRecord doMove(int cell) throws IllegalStateException, IllegalArgumentException;
+
+  /**
+   * Makes a move on a cell, exactly as {@link #makeMove(Player, Coord)} does.
+   *
+   * @param player is the player attempting to make the move.
+   * @param cell   is the cell number of the hexagon.
+   * @throws IllegalStateException    if the game hasn't started, the move is illegal, or it is not
+   *                                  the turn of the player attempting to make the move.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+  void makeMove(Player player, int cell) throws IllegalStateException, IllegalArgumentException;
+
+  /**
+   * Determines if a move on a cell is legal for a player.
+   *
+   * @param cell   is the cell number of the hexagon.
+   * @param player is the player.
+   * @return true if the move is legal, false otherwise.
+   * @throws IllegalStateException    if the game hasn't started.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+  boolean isLegalMove(int cell, Player player)
+      throws IllegalStateException, IllegalArgumentException;
+
+  /**
+   * Gets the hexagon on a cell.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @return the hexagon on the cell.
+   * @throws IllegalArgumentException if the cell is not on the board.
+   */
+  Hexagon getCell(int cell) throws IllegalArgumentException;
+
+  /**
+   * Gets the geometry of the board, which numbers its cells and gives the lines through them.
+   *
+   * @return the geometry of the board.
+   */
+  BoardGeometry getGeometry();
+
+  /**
+   * Passes the turn of the player whose turn it is, without notifying any listeners.
+   *
+   * @return the record that undoes the pass.
+   * @throws IllegalStateException if the game hasn't started.
+   */
+  UndoRecord doPass() throws IllegalStateException;
+
+  /**
+   * Undoes a move or pass, restoring the flipped hexagons, the turn and the count of passed
+   * moves. Records must be undone in the reverse order that they were made.
+   *
+   * @param record is the record of the most recent move or pass that has not been undone.
+   * @throws IllegalStateException if the record does not match the current state of the game.
+   */
+  void undoMove(UndoRecord record) throws IllegalStateException;
+}
@@ -0,0 +1,66 @@
+package cs3500.hw5.model;
+
+/**
+ * Represents everything needed to undo one move or pass made on a
+ * {@link SearchableReversiModel}: the cell of the placed disc, the cells that were flipped and
+ * the count of passed moves before the move. Cells are numbered by the board's
+ * {@link BoardGeometry}.
+ */
+public final class UndoRecord {
+
+  static final int[] NO_FLIPS = new int[0];
+
+  final int cell;
+  final int[] flips;
+  final int passedMoves;
+
+  /**
+   * Constructor for a record of a move.
+   *
+   * @param cell        is the cell the disc was placed on, or -1 for a pass.
+   * @param flips       are the cells that were flipped by the move.
+   * @param passedMoves is the count of passed moves before the move.
+   */
+  UndoRecord(int cell, int[] flips, int passedMoves) {
+    this.cell = cell;
+    this.flips = flips;
+    this.passedMoves = passedMoves;
+  }
+
+  /**
+   * Determines if this is the record of a pass.
+   *
+   * @return true if the turn was passed, false if a disc was placed.
+   */
+  public boolean isPass() {
+    return this.cell < 0;
+  }
+
+  /**
+   * Gets the cell the disc was placed on.
+   *
+   * @return the cell number, or -1 for a pass.
+   */
+  public int getCell() {
+    return this.cell;
+  }
+
+  /**
+   * Gets the number of hexagons that were flipped by the move.
+   *
+   * @return the number of flipped hexagons.
+   */
+  public int getFlipCount() {
+    return this.flips.length;
+  }
+
+  /**
+   * Gets a cell that was flipped by the move.
+   *
+   * @param index is the index of the flip, between 0 and the flip count.
+   * @return the cell number.
+   */
+  public int getFlip(int index) {
+    return this.flips[index];
+  }
+}
@@ -0,0 +1,579 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.BoardGeometry;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Hexagon;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reversi strategy that searches the game tree with negamax and alpha-beta pruning. The search
+ * deepens one ply at a time, up to a maximum depth, until a time budget runs out, and plays the
+ * best move of the deepest search that finished. Every position is scored from the point of view
+ * of the player to move, so one method searches for both players.
+ *
+ * <p>The search makes and undoes moves in place on a single copy of the game, so it never
+ * disturbs the actual game or its listeners. Positions it has searched are kept in a
+ * {@link TranspositionTable}, which by default is shared with every other search in the program,
+ * so a position reached again, in this search or a later one, is not searched twice. Moves are
+ * tried in the order given by a {@link MoveOrdering}, best guess first.
+ *
+ * <p>A position is scored by the difference in discs, and can also be given a bonus for each
+ * stable disc, which a {@link StabilityAnalyzer} keeps count of as the search makes and undoes
+ * moves. Stable discs are worth the most in the middle of the game, when the disc count says
+ * little about who will win.
+ *
+ * <p>The search can use more than one thread. The first move at the root is searched alone, and
+ * the rest are then shared out among the threads, each with its own copy of the game, which take
+ * the next move left until none are. The threads share the best score found so far at the root,
+ * so each move is searched with the tightest bound known when it starts. The threads are borrowed
+ * from the one pool that Monte Carlo searches use too, so a copy of the strategy made for every
+ * move starts no threads of its own.
+ */
+public class AlphaBeta extends BasicReversiStrategy implements AnytimeStrategy {
+
+  /**
+   * The depth searched to by default.
+   */
+  public static final int DEFAULT_DEPTH = 8;
+
+  /**
+   * The time budget of a search by default, in milliseconds.
+   */
+  public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+  /**
+   * The bonus for each stable disc by default.
+   */
+  public static final int DEFAULT_STABILITY_WEIGHT = 10;
+
+  //the score of a finished game that is won, before adding the margin of the win.
+  static final int WIN = 1_000_000;
+
+  //the clock is only read once every this many nodes (must be one less than a power of two).
+  private static final int CLOCK_INTERVAL = 1023;
+
+  private final int maxDepth;
+  private final long budgetNanos;
+  private final TranspositionTable table;
+  private final int threads;
+  private final int stabilityWeight;
+
+  //mixed into the key of every position, so that searches that score positions differently
+  //never read each other's scores from a shared table.
+  private final long tableSalt;
+
+  //the ordering of the main thread, kept from one search to the next.
+  private MoveOrdering ordering;
+
+  private long deadline;
+  private volatile boolean outOfTime;
+  private long nodesSearched;
+  private volatile int depthReached;
+
+  /**
+   * Constructor method, searches to the default depth within the default time budget, and gives
+   * stable discs the default weight.
+   */
+  public AlphaBeta() {
+    this(DEFAULT_DEPTH, DEFAULT_BUDGET_MILLIS, TranspositionTable.shared(), 1,
+        DEFAULT_STABILITY_WEIGHT);
+  }
+
+  /**
+   * Constructor method, uses the shared transposition table.
+   *
+   * @param maxDepth     is the number of moves to look ahead, at most.
+   * @param budgetMillis is the time a search may take, in milliseconds. The first ply is always
+   *                     searched, which takes one evaluation per legal move.
+   * @throws IllegalArgumentException if the depth or budget are not positive.
+   */
+  public AlphaBeta(int maxDepth, long budgetMillis) {
+    this(maxDepth, budgetMillis, TranspositionTable.shared());
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param maxDepth     is the number of moves to look ahead, at most.
+   * @param budgetMillis is the time a search may take, in milliseconds. The first ply is always
+   *                     searched, which takes one evaluation per legal move.
+   * @param table        is the table to keep searched positions in.
+   * @throws IllegalArgumentException if the depth or budget are not positive.
+   */
+  public AlphaBeta(int maxDepth, long budgetMillis, TranspositionTable table) {
+    this(maxDepth, budgetMillis, table, 1);
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param maxDepth     is the number of moves to look ahead, at most.
+   * @param budgetMillis is the time a search may take, in milliseconds. The first ply is always
+   *                     searched, which takes one evaluation per legal move.
+   * @param table        is the table to keep searched positions in.
+   * @param threads      is the number of threads to search with, of which no more run at once
+   *                     than there are processors.
+   * @throws IllegalArgumentException if the depth, budget or number of threads are not positive.
+   */
+  public AlphaBeta(int maxDepth, long budgetMillis, TranspositionTable table, int threads) {
+    this(maxDepth, budgetMillis, table, threads, 0);
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param maxDepth        is the number of moves to look ahead, at most.
+   * @param budgetMillis    is the time a search may take, in milliseconds. The first ply is
+   *                        always searched, which takes one evaluation per legal move.
+   * @param table           is the table to keep searched positions in.
+   * @param threads         is the number of threads to search with, of which no more run at
+   *                        once than there are processors.
+   * @param stabilityWeight is the bonus for each stable disc of the player to move, and the
+   *                        penalty for each of the other player, or 0 to count discs only.
+   * @throws IllegalArgumentException if the depth, budget or number of threads are not positive,
+   *                                  or the weight is negative.
+   */
+  public AlphaBeta(int maxDepth, long budgetMillis, TranspositionTable table, int threads,
+      int stabilityWeight) {
+    if (maxDepth < 1 || budgetMillis < 1 || threads < 1) {
+      throw new IllegalArgumentException("Depth, time budget and threads must be positive");
+    }
+    if (stabilityWeight < 0) {
+      throw new IllegalArgumentException("Stability weight cannot be negative");
+    }
+    Objects.requireNonNull(table);
+    this.maxDepth = maxDepth;
+    this.budgetNanos = budgetMillis * 1_000_000;
+    this.table = table;
+    this.threads = threads;
+    this.stabilityWeight = stabilityWeight;
+    this.tableSalt = stabilityWeight * 0x9E3779B97F4A7C15L;
+    super.resetData();
+  }
+
+  /**
+   * Chooses the best move found by searching as deep as the depth and time budget allow. The
+   * weight of the chosen move is its score; the weights of the other moves are only upper bounds
+   * on their scores, since the search stops looking at a move once it is known to be worse.
+   *
+   * @param game    is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @return the coordinates deemed to be the best move.
+   */
+  @Override
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom) {
+    return this.chooseMove(game, forWhom, Duration.ofNanos(this.budgetNanos));
+  }
+
+  /**
+   * Chooses the best move found by searching as deep as the depth and the given time budget
+   * allow, instead of the budget of this strategy. The first ply is searched even if the budget
+   * is shorter, which takes one evaluation per legal move.
+   *
+   * @param game    is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @param budget  is the time the search may take.
+   * @return the coordinates deemed to be the best move.
+   * @throws IllegalArgumentException if the budget is negative.
+   */
+  @Override
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom, Duration budget) {
+    super.resetData();
+    this.deadline = System.nanoTime() + nanosOf(budget);
+    this.outOfTime = false;
+    this.nodesSearched = 0;
+    this.depthReached = 0;
+
+    SearchableReversiModel model = super.searchableCopy(game, forWhom);
+    Player opponent = super.getOpponent(model, forWhom);
+    if (!model.hasLegalMove(forWhom)) {
+      return Optional.empty();
+    }
+    super.passUntilTurnOf(model, forWhom);
+    BoardGeometry geometry = model.getGeometry();
+    if (this.ordering == null || this.ordering.getGeometry() != geometry) {
+      this.ordering = new MoveOrdering(geometry);
+    }
+    this.ordering.age();
+    this.ordering.resetCounts();
+    Worker worker = new Worker(model, this.ordering, this.createAnalyzer(model));
+
+    //the best move of an earlier search of this position is the best guess until a search ends.
+    long entry = this.table.probe(model.positionHash() ^ this.tableSalt);
+    int bestCell = entry == 0 ? -1 : TranspositionTable.moveOf(entry);
+    int[] rootScores = new int[geometry.cellCount()];
+    for (int depth = 1; depth <= this.maxDepth && !this.outOfTime; depth++) {
+      int[] scores = new int[geometry.cellCount()];
+      int cell = this.searchRoot(worker, forWhom, opponent, depth, bestCell, scores);
+      if (this.outOfTime) {
+        break;
+      }
+      bestCell = cell;
+      rootScores = scores;
+      this.depthReached = depth;
+    }
+    this.nodesSearched = worker.nodes;
+
+    for (int cell = 0; cell < geometry.cellCount(); cell++) {
+      if (model.isLegalMove(cell, forWhom)) {
+        super.weights.put(this.coordOf(geometry, cell), rootScores[cell]);
+      }
+    }
+    super.updateHighestWeight(rootScores[bestCell]);
+    return Optional.of(this.coordOf(geometry, bestCell));
+  }
+
+  @Override
+  public ReversiStrategy makeCopy() {
+    return new AlphaBeta(this.maxDepth, this.budgetNanos / 1_000_000, this.table, this.threads,
+        this.stabilityWeight);
+  }
+
+  /**
+   * Gets the number of positions looked at by the most recent search, by all of its threads.
+   *
+   * @return the number of nodes searched.
+   */
+  public long getNodesSearched() {
+    return this.nodesSearched;
+  }
+
+  /**
+   * Gets the move ordering of the most recent search, which has counted the cut-offs of all of
+   * its threads.
+   *
+   * @return the move ordering, or null if nothing has been searched.
+   */
+  public MoveOrdering getMoveOrdering() {
+    return this.ordering;
+  }
+
+  /**
+   * Gets the depth of the deepest search that finished during the most recent call to
+   * {@link #chooseMove(ReversiModel, Player)}.
+   *
+   * @return the depth reached, or 0 if there was no move to search.
+   */
+  public int getDepthReached() {
+    return this.depthReached;
+  }
+
+  /**
+   * Scores a position that the search does not look beyond, from the point of view of the player
+   * to move.
+   *
+   * @param worker is the worker searching the game.
+   * @param mover  is the player to move.
+   * @param other  is the other player.
+   * @return how good the position is for the player to move.
+   */
+  int evaluate(Worker worker, Player mover, Player other) {
+    int score = worker.model.getScore(mover) - worker.model.getScore(other);
+    if (worker.stability != null) {
+      int moverStable = worker.stability.getStableCount(colorOf(mover));
+      int otherStable = worker.stability.getStableCount(colorOf(other));
+      score += this.stabilityWeight * (moverStable - otherStable);
+    }
+    return score;
+  }
+
+  /**
+   * Creates the stability analyzer of a worker, if positions are scored by stability.
+   *
+   * @param model is the game the worker searches.
+   * @return an analyzer of the game as it is, or null if stable discs are not counted.
+   */
+  private StabilityAnalyzer createAnalyzer(SearchableReversiModel model) {
+    if (this.stabilityWeight == 0) {
+      return null;
+    }
+    StabilityAnalyzer analyzer = new StabilityAnalyzer(model.getGeometry());
+    analyzer.reset(model.getBoardView());
+    return analyzer;
+  }
+
+  /**
+   * Gets the color of the discs of a player.
+   *
+   * @param player is the player.
+   * @return Hexagon.X or Hexagon.O.
+   */
+  private static Hexagon colorOf(Player player) {
+    return Hexagon.X.toString().equals(player.toString()) ? Hexagon.X : Hexagon.O;
+  }
+
+  /**
+   * Searches every move of the player at the root of the tree to a given depth. The first move is
+   * searched on its own, and the rest are shared out among the threads of the search.
+   *
+   * @param main     is the worker searching the game, where it is the player's turn.
+   * @param forWhom  is the player to move.
+   * @param opponent is the other player.
+   * @param depth    is the depth to search to.
+   * @param first    is the cell to search first, or -1 to leave it to the move ordering.
+   * @param scores   is filled in with the score of each move searched.
+   * @return the cell of the best move, or -1 if the search ran out of time.
+   */
+  private int searchRoot(Worker main, Player forWhom, Player opponent, int depth, int first,
+      int[] scores) {
+    SearchableReversiModel model = main.model;
+    int cellCount = model.getGeometry().cellCount();
+    //the best move of the last search is likely to still be best, and makes the cut-offs tight.
+    int count = main.ordering.order(model, forWhom, opponent, 0, depth, first);
+    List<Integer> moves = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      moves.add(main.ordering.getMoves(0)[i]);
+    }
+
+    AtomicInteger alpha = new AtomicInteger(-Integer.MAX_VALUE);
+    boolean[] exact = new boolean[cellCount];
+    this.searchRootMove(main, forWhom, opponent, depth, moves.get(0), alpha, scores, exact);
+    if (this.threads == 1) {
+      for (int i = 1; i < moves.size(); i++) {
+        this.searchRootMove(main, forWhom, opponent, depth, moves.get(i), alpha, scores, exact);
+      }
+    } else {
+      //each thread takes the next move left, so a thread that finishes early takes on more.
+      AtomicInteger next = new AtomicInteger(1);
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      List<Worker> workers = new ArrayList<>();
+      for (int i = 0; i < Math.min(this.threads, moves.size() - 1); i++) {
+        SearchableReversiModel copy = (SearchableReversiModel) model.makeCopy();
+        Worker worker = new Worker(copy, new MoveOrdering(main.ordering),
+            this.createAnalyzer(copy));
+        workers.add(worker);
+        tasks.add(SearchThreads.POOL.submit(() -> {
+          for (int move = next.getAndIncrement(); move < moves.size();
+              move = next.getAndIncrement()) {
+            this.searchRootMove(worker, forWhom, opponent, depth, moves.get(move), alpha, scores,
+                exact);
+          }
+        }));
+      }
+      for (int i = 0; i < tasks.size(); i++) {
+        tasks.get(i).join();
+        main.nodes += workers.get(i).nodes;
+        main.ordering.addCounts(workers.get(i).ordering);
+      }
+    }
+    if (this.outOfTime) {
+      return -1;
+    }
+
+    //a move that was cut off scores no more than the bound it was searched with, so the best
+    //score belongs to at least one move that was searched exactly.
+    int bestCell = -1;
+    for (int cell : moves) {
+      if (exact[cell] && scores[cell] == alpha.get()) {
+        bestCell = cell;
+        break;
+      }
+    }
+    this.table.store(model.positionHash() ^ this.tableSalt, depth, alpha.get(),
+        TranspositionTable.EXACT, bestCell);
+    return bestCell;
+  }
+
+  /**
+   * Searches one move at the root of the tree, and raises the shared bound if the move is the
+   * best one so far.
+   *
+   * @param worker   is the worker searching the game, where it is the player's turn.
+   * @param forWhom  is the player to move.
+   * @param opponent is the other player.
+   * @param depth    is the depth to search to.
+   * @param cell     is the cell of the move.
+   * @param alpha    is the best score found so far at the root.
+   * @param scores   is filled in with the score of the move.
+   * @param exact    is filled in with whether the score of the move is exact.
+   */
+  private void searchRootMove(Worker worker, Player forWhom, Player opponent, int depth,
+      int cell, AtomicInteger alpha, int[] scores, boolean[] exact) {
+    int bound = alpha.get();
+    UndoRecord record = worker.model.doMove(cell);
+    int stable = worker.update(record);
+    int score = -this.negamax(worker, opponent, forWhom, depth - 1, 1, -Integer.MAX_VALUE,
+        -bound);
+    worker.undo(record, stable);
+    worker.model.undoMove(record);
+    if (!this.outOfTime) {
+      scores[cell] = score;
+      exact[cell] = score > bound;
+      alpha.accumulateAndGet(score, Math::max);
+    }
+  }
+
+  /**
+   * Scores a position by searching it to a given depth, pruning any move that cannot change the
+   * outcome given the bounds. A position already in the table to at least this depth is not
+   * searched again, and otherwise its best move in the table is searched first.
+   *
+   * @param worker is the worker searching the game, where it is the turn of the mover.
+   * @param mover  is the player to move.
+   * @param other  is the other player.
+   * @param depth  is the number of moves left to look ahead.
+   * @param ply    is the number of moves made since the root.
+   * @param alpha  is the score the mover is already sure of.
+   * @param beta   is the score the other player is already sure of, negated.
+   * @return the score of the position for the mover.
+   */
+  private int negamax(Worker worker, Player mover, Player other, int depth, int ply, int alpha,
+      int beta) {
+    SearchableReversiModel model = worker.model;
+    worker.nodes++;
+    if ((worker.nodes & CLOCK_INTERVAL) == 0 && this.depthReached > 0
+        && System.nanoTime() - this.deadline > 0) {
+      this.outOfTime = true;
+    }
+    if (this.outOfTime) {
+      return 0;
+    }
+    if (depth == 0) {
+      return this.evaluate(worker, mover, other);
+    }
+
+    if (!model.hasLegalMove(mover)) {
+      if (!model.hasLegalMove(other)) {
+        return this.finalScore(model, mover, other);
+      }
+      UndoRecord pass = model.doPass();
+      int score = -this.negamax(worker, other, mover, depth - 1, ply + 1, -beta, -alpha);
+      model.undoMove(pass);
+      return score;
+    }
+
+    long hash = model.positionHash() ^ this.tableSalt;
+    long entry = this.table.probe(hash);
+    int first = -1;
+    if (entry != 0) {
+      first = TranspositionTable.moveOf(entry);
+      if (TranspositionTable.depthOf(entry) >= depth) {
+        int score = TranspositionTable.scoreOf(entry);
+        int bound = TranspositionTable.boundOf(entry);
+        if (bound == TranspositionTable.EXACT
+            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+          return score;
+        }
+      }
+    }
+
+    int originalAlpha = alpha;
+    int best = -Integer.MAX_VALUE;
+    int bestCell = -1;
+    int count = worker.ordering.order(model, mover, other, ply, depth, first);
+    int[] moves = worker.ordering.getMoves(ply);
+    for (int i = 0; i < count; i++) {
+      int cell = moves[i];
+      UndoRecord record = model.doMove(cell);
+      int stable = worker.update(record);
+      int score = -this.negamax(worker, other, mover, depth - 1, ply + 1, -beta, -alpha);
+      worker.undo(record, stable);
+      model.undoMove(record);
+      if (score > best) {
+        best = score;
+        bestCell = cell;
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            if (!this.outOfTime) {
+              worker.ordering.recordCutoff(ply, depth, cell, i);
+            }
+            break;
+          }
+        }
+      }
+    }
+
+    if (!this.outOfTime) {
+      int bound = TranspositionTable.EXACT;
+      if (best <= originalAlpha) {
+        bound = TranspositionTable.UPPER_BOUND;
+      } else if (best >= beta) {
+        bound = TranspositionTable.LOWER_BOUND;
+      }
+      this.table.store(hash, depth, best, bound, bestCell);
+    }
+    return best;
+  }
+
+  /**
+   * Scores a finished game for the player to move. Any win is better than any position that is
+   * not finished, and bigger wins are better than smaller ones.
+   *
+   * @param model is the finished game.
+   * @param mover is the player to move.
+   * @param other is the other player.
+   * @return the score of the game for the mover.
+   */
+  private int finalScore(SearchableReversiModel model, Player mover, Player other) {
+    int margin = model.getScore(mover) - model.getScore(other);
+    if (margin > 0) {
+      return WIN + margin;
+    } else if (margin < 0) {
+      return -WIN + margin;
+    }
+    return 0;
+  }
+
+  /**
+   * Gets the coordinates of a cell.
+   *
+   * @param geometry is the geometry of the board.
+   * @param cell     is the cell number.
+   * @return the coordinates of the cell.
+   */
+  private Coord coordOf(BoardGeometry geometry, int cell) {
+    return new Coord(geometry.cellRow(cell), geometry.cellCol(cell));
+  }
+
+  /**
+   * Holds the copy of the game that one thread searches, its move ordering, its stability
+   * analyzer, and the number of positions it has looked at.
+   */
+  static final class Worker {
+    private final SearchableReversiModel model;
+    private final MoveOrdering ordering;
+    private final StabilityAnalyzer stability;
+    private long nodes;
+
+    private Worker(SearchableReversiModel model, MoveOrdering ordering,
+        StabilityAnalyzer stability) {
+      this.model = model;
+      this.ordering = ordering;
+      this.stability = stability;
+    }
+
+    /**
+     * Brings the stability analyzer up to date after a move, if there is one.
+     *
+     * @param record is the record of the move.
+     * @return the number of discs the move made stable.
+     */
+    private int update(UndoRecord record) {
+      return this.stability == null ? 0 : this.stability.update(record);
+    }
+
+    /**
+     * Takes a move back from the stability analyzer, if there is one.
+     *
+     * @param record      is the record of the move.
+     * @param newlyStable is the number of discs the move made stable.
+     */
+    private void undo(UndoRecord record, int newlyStable) {
+      if (this.stability != null) {
+        this.stability.undo(record, newlyStable);
+      }
+    }
+  }
+}
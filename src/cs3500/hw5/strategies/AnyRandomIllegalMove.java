@@ -1,6 +1,7 @@
 package cs3500.hw5.strategies;
 
 import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Hexagon;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
 import java.util.ArrayList;
@@ -18,11 +19,10 @@ public class AnyRandomIllegalMove extends BasicReversiStrategy {
   public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
     List<Coord> legalMoves = super.getAllPossibleMoves(model, forWhom);
     List<Coord> possibleMoves = new ArrayList<>();
-    for (int row = 0; row < model.getBoard().size(); row++) {
-      for (int col = 0; col < model.getBoard().get(row).size(); col++) {
+    for (int row = 0; row < model.getBoardSize(); row++) {
+      for (int col = 0; col < model.rowLength(row); col++) {
         possibleMoves.add(new Coord(row, col));
-        if (model.getBoard().get(row).get(col).toString().equals("X")
-            || model.getBoard().get(row).get(col).toString().equals("O")) {
+        if (model.getCell(row, col) != Hexagon.EMPTY) {
           legalMoves.add(new Coord(row, col));
         }
       }
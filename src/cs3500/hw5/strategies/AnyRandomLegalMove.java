@@ -14,7 +14,8 @@ import java.util.Random;
 public class AnyRandomLegalMove extends BasicReversiStrategy {
 
   @Override
-  public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom) {
+    ReversiModel model = super.forkForSearch(game);
     List<Coord> moves = super.getAllPossibleMoves(model, forWhom);
     Coord bestMove = new CaptureMostPieces().chooseMove(model, forWhom).get();
     if (moves.contains(bestMove)) {
@@ -0,0 +1,24 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Represents a strategy that can be stopped at any time. Given a time budget, it keeps improving
+ * its choice until the budget runs out, and then returns the best move it has found so far.
+ */
+public interface AnytimeStrategy extends ReversiStrategy {
+
+  /**
+   * Returns the best move found before a time budget runs out.
+   * @param model is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @param budget is the time the strategy may take to choose the move.
+   * @return the move determined by the strategy.
+   * @throws IllegalArgumentException if the budget is negative.
+   */
+  Optional<Coord> chooseMove(ReversiModel model, Player forWhom, Duration budget);
+}
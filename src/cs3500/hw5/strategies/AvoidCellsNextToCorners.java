@@ -1,7 +1,6 @@
 package cs3500.hw5.strategies;
 
 import cs3500.hw5.model.Coord;
-import cs3500.hw5.model.Hexagon;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
 import java.util.ArrayList;
@@ -24,14 +23,17 @@ public class AvoidCellsNextToCorners extends BasicReversiStrategy {
   }
 
   @Override
-  public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom) {
+    ReversiModel model = super.forkForSearch(game);
     List<Coord> moves = super.getAllPossibleMoves(model, forWhom);
     List<Coord> movesNotNextToCorners = new ArrayList<>();
+    PositionalWeights positions = PositionalWeights.of(model);
     for (Coord move : moves) {
-      if (!this.isCellNextToCorner(model.getBoard(), move)) {
+      if (positions.kindOf(move) != PositionalWeights.NEXT_TO_CORNER) {
         movesNotNextToCorners.add(move);
-        super.weights.put(move, super.getScoreGainedWithMove(model, forWhom, move) + 2);
-        super.updateHighestWeight(super.getScoreGainedWithMove(model, forWhom, move) + 2);
+        int weight = super.getScoreGainedWithMove(model, forWhom, move) + 2;
+        super.weights.put(move, weight);
+        super.updateHighestWeight(weight);
       }
     }
     if (movesNotNextToCorners.size() > 0) {
@@ -45,40 +47,4 @@ public class AvoidCellsNextToCorners extends BasicReversiStrategy {
     return new AvoidCellsNextToCorners();
   }
 
-  /**
-   * Determines if a given hexagon is next to any corners.
-   * @param board is the board to test against.
-   * @param coords is the coordinates of the given hexagon.
-   * @return true if the hexagon is next to a corner, false otherwise.
-   */
-  private boolean isCellNextToCorner(List<List<Hexagon>> board, Coord coords) {
-    List<Coord> corners = super.getCorners(board);
-    boolean inTopHalf;
-    //top half
-    if (coords.row < board.size() / 2) {
-      return (corners.contains(new Coord(coords.row - 1, coords.col - 1)) ||
-          corners.contains(new Coord(coords.row - 1, coords.col)) ||
-          corners.contains(new Coord(coords.row, coords.col + 1)) ||
-          corners.contains(new Coord(coords.row + 1, coords.col + 1)) ||
-          corners.contains(new Coord(coords.row + 1, coords.col)) ||
-          corners.contains(new Coord(coords.row, coords.col - 1)));
-    }
-    //bottom half
-    else if (coords.row > board.size() / 2) {
-      return (corners.contains(new Coord(coords.row - 1, coords.col)) ||
-          corners.contains(new Coord(coords.row - 1, coords.col + 1)) ||
-          corners.contains(new Coord(coords.row, coords.col + 1)) ||
-          corners.contains(new Coord(coords.row + 1, coords.col)) ||
-          corners.contains(new Coord(coords.row + 1, coords.col - 1)) ||
-          corners.contains(new Coord(coords.row, coords.col - 1)));
-    }
-    //middle row
-    return (corners.contains(new Coord(coords.row - 1, coords.col - 1)) ||
-        corners.contains(new Coord(coords.row - 1, coords.col)) ||
-        corners.contains(new Coord(coords.row, coords.col + 1)) ||
-        corners.contains(new Coord(coords.row + 1, coords.col)) ||
-        corners.contains(new Coord(coords.row + 1, coords.col - 1)) ||
-        corners.contains(new Coord(coords.row, coords.col - 1)));
-  }
-
 }
@@ -1,14 +1,19 @@
 package cs3500.hw5.strategies;
 
 import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
 import cs3500.hw5.model.Coord;
 import cs3500.hw5.model.Hexagon;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -54,18 +59,10 @@ public abstract class BasicReversiStrategy implements ReversiStrategy {
    *
    * @param model   is the model where the moves would be made.
    * @param forWhom is the player who would make the move.
-   * @return the list of legal moves.
+   * @return the list of legal moves, which the caller may modify.
    */
   public List<Coord> getAllPossibleMoves(ReversiModel model, Player forWhom) {
-    List<Coord> possibleMoves = new ArrayList<>();
-    for (int row = 0; row < model.getBoard().size(); row++) {
-      for (int col = 0; col < model.getBoard().get(row).size(); col++) {
-        if (model.isLegalMove(new Coord(row, col), forWhom)) {
-          possibleMoves.add(new Coord(row, col));
-        }
-      }
-    }
-    return possibleMoves;
+    return new ArrayList<>(model.legalMoves(forWhom));
   }
 
   /**
@@ -160,14 +157,101 @@ public abstract class BasicReversiStrategy implements ReversiStrategy {
    * @return the potential gain in score after a player would make a move.
    */
   public int getScoreGainedWithMove(ReversiModel model, Player forWhom, Coord move) {
+    if (model instanceof SearchableReversiModel) {
+      SearchableReversiModel searchable = (SearchableReversiModel) model;
+      UndoRecord pass = this.passUntilTurnOf(searchable, forWhom);
+      UndoRecord record = searchable.doMove(move);
+      int gain = record.getFlipCount() + 1;
+      this.undoMoves(searchable, record, pass);
+      return gain;
+    }
     ReversiModel tempModel = model.makeCopy();
-    this.startTempGame(tempModel, forWhom, new ArrayList<>(model.getBoard()));
     int startingScore = tempModel.getScore(forWhom);
     tempModel.makeMove(forWhom, move);
     int endingScore = tempModel.getScore(forWhom);
     return endingScore - startingScore;
   }
 
+  /**
+   * Gets a game that can be searched in place without disturbing the actual game. A searchable
+   * game is copied once, which is cheap; any other game is returned as is, and is copied for each
+   * move instead.
+   *
+   * @param model is the game to be searched.
+   * @return the game to search.
+   */
+  public ReversiModel forkForSearch(ReversiModel model) {
+    if (model instanceof SearchableReversiModel) {
+      return model.makeCopy();
+    }
+    return model;
+  }
+
+  /**
+   * Gets a copy of the game that can be searched in place. A game that cannot be searched is
+   * copied into a new game of Basic Reversi with the same board.
+   *
+   * @param game    is the game to copy.
+   * @param forWhom is the player the search is for.
+   * @return a searchable copy of the game.
+   */
+  SearchableReversiModel searchableCopy(ReversiModel game, Player forWhom) {
+    ReversiModel copy = this.forkForSearch(game);
+    if (copy instanceof SearchableReversiModel) {
+      return (SearchableReversiModel) copy;
+    }
+    BasicReversi model = new BasicReversi();
+    this.startTempGame(model, forWhom, game.getBoard());
+    return model;
+  }
+
+  /**
+   * Converts the time budget of an {@link AnytimeStrategy} to nanoseconds, saturating at a budget
+   * too long to ever run out.
+   *
+   * @param budget is the time budget.
+   * @return the budget in nanoseconds.
+   * @throws IllegalArgumentException if the budget is negative.
+   */
+  static long nanosOf(Duration budget) {
+    Objects.requireNonNull(budget);
+    if (budget.isNegative()) {
+      throw new IllegalArgumentException("Time budget cannot be negative");
+    }
+    //a deadline further than this from now would overflow System.nanoTime().
+    return budget.compareTo(Duration.ofDays(100 * 365)) > 0 ? Long.MAX_VALUE / 2
+        : budget.toNanos();
+  }
+
+  /**
+   * Makes sure it is the turn of the given player on a searchable model, passing the turn of the
+   * other player if it is not. This replaces starting a temporary game for the player.
+   *
+   * @param model   is the game being searched.
+   * @param forWhom is the player whose turn it should be.
+   * @return the record of the pass, or null if it was already the player's turn.
+   */
+  UndoRecord passUntilTurnOf(SearchableReversiModel model, Player forWhom) {
+    if (model.getTurn().toString().equals(forWhom.toString())) {
+      return null;
+    }
+    return model.doPass();
+  }
+
+  /**
+   * Undoes a move made on a searchable model, then the pass made before it, if any.
+   *
+   * @param model  is the game being searched.
+   * @param record is the record of the move.
+   * @param pass   is the record of the pass made before the move, or null if there was none.
+   */
+  void undoMoves(SearchableReversiModel model, UndoRecord record, UndoRecord pass) {
+    model.undoMove(record);
+    if (pass != null) {
+      model.undoMove(pass);
+    }
+  }
+
   /**
    * For a list of coordinates, gets the one closest to the top left corner.
    *
@@ -19,7 +19,8 @@ public class CaptureMostPieces extends BasicReversiStrategy {
   }
 
   @Override
-  public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom) {
+    ReversiModel model = super.forkForSearch(game);
     List<Coord> moves = super.getAllPossibleMoves(model, forWhom);
     for (Coord move : moves) {
       int weight = super.getScoreGainedWithMove(model, forWhom, move);
@@ -0,0 +1,110 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.ReversiModel;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Represents the clock of one player, who has a total amount of time for a whole game. Before
+ * each move, the clock allots that move a share of the time left, based on how many moves the
+ * player is likely still to make; after the move, the time actually taken is charged to it.
+ *
+ * <p>No move is allotted more than a fixed limit, and no move is allotted less than a fixed
+ * floor, so a robot keeps answering promptly even when its clock is nearly out.
+ */
+public class ClockManager {
+
+  /**
+   * The least time a move is allotted by default, in milliseconds.
+   */
+  public static final long DEFAULT_MIN_MOVE_MILLIS = 10;
+
+  //a player is assumed to have at least this many moves left, so the last of the time is not
+  //all spent on one move.
+  private static final int MIN_MOVES_LEFT = 8;
+
+  //one part in this many of each allotment is kept back for the time it takes to make the move.
+  private static final int SAFETY_MARGIN = 10;
+
+  private final Duration maxPerMove;
+  private final Duration minPerMove;
+  private Duration remaining;
+
+  /**
+   * Constructor method, with no limit on a single move other than the total.
+   *
+   * @param total is the time the player has for the whole game.
+   * @throws IllegalArgumentException if the total is not positive.
+   */
+  public ClockManager(Duration total) {
+    this(total, total, Duration.ofMillis(DEFAULT_MIN_MOVE_MILLIS));
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param total      is the time the player has for the whole game.
+   * @param maxPerMove is the most time a single move may be allotted.
+   * @param minPerMove is the least time a single move is allotted, even with the clock run out.
+   * @throws IllegalArgumentException if any duration is not positive, or the floor is above the
+   *                                  limit.
+   */
+  public ClockManager(Duration total, Duration maxPerMove, Duration minPerMove) {
+    Objects.requireNonNull(total);
+    Objects.requireNonNull(maxPerMove);
+    Objects.requireNonNull(minPerMove);
+    if (total.isNegative() || total.isZero() || maxPerMove.isNegative() || maxPerMove.isZero()
+        || minPerMove.isNegative() || minPerMove.isZero() || minPerMove.compareTo(maxPerMove) > 0) {
+      throw new IllegalArgumentException("Clock durations are out of range");
+    }
+    this.remaining = total;
+    this.maxPerMove = maxPerMove;
+    this.minPerMove = minPerMove;
+  }
+
+  /**
+   * Allots time to the next move of the player. Each player makes at most one move for every two
+   * empty hexagons, so the time left is split across that many moves.
+   *
+   * @param model is the game the move will be made on.
+   * @return the time the move may take.
+   */
+  public Duration budgetFor(ReversiModel model) {
+    int movesLeft = Math.max(MIN_MOVES_LEFT, (model.getEmptyCount() + 1) / 2);
+    Duration share = this.remaining.dividedBy(movesLeft);
+    share = share.minus(share.dividedBy(SAFETY_MARGIN));
+    if (share.compareTo(this.maxPerMove) > 0) {
+      return this.maxPerMove;
+    }
+    if (share.compareTo(this.minPerMove) < 0) {
+      return this.minPerMove;
+    }
+    return share;
+  }
+
+  /**
+   * Charges the time a move took to the clock.
+   *
+   * @param used is the time the move took.
+   * @throws IllegalArgumentException if the time is negative.
+   */
+  public void recordMove(Duration used) {
+    Objects.requireNonNull(used);
+    if (used.isNegative()) {
+      throw new IllegalArgumentException("Time used cannot be negative");
+    }
+    this.remaining = this.remaining.minus(used);
+    if (this.remaining.isNegative()) {
+      this.remaining = Duration.ZERO;
+    }
+  }
+
+  /**
+   * Gets the time the player has left for the rest of the game.
+   *
+   * @return the time left.
+   */
+  public Duration getRemaining() {
+    return this.remaining;
+  }
+}
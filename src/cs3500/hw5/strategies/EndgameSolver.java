@@ -0,0 +1,570 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.BoardGeometry;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Hexagon;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Reversi strategy that plays perfectly at the end of a game. Once the number of empty hexagons
+ * is at most a threshold, it searches every line of play to the end of the game and picks the
+ * move with the best final disc difference. Until then, or if a solve would look at too many
+ * positions, it plays the moves of another strategy, so wrapping any strategy in a solver makes a
+ * robot switch to it in the endgame.
+ *
+ * <p>The solver does not search the game itself but a small copy of the board of its own: one
+ * byte per hexagon and a list of the empty cells, with flips undone from a stack. Moves are
+ * searched in regions of the board with an odd number of empty cells first, since the last move
+ * in a region is often decisive, and then in order of how few replies they leave the opponent.
+ *
+ * <p>Given a time budget, the solver gives up once half of it is spent, and the fallback strategy
+ * gets the rest, itself with that budget if it is an {@link AnytimeStrategy}.
+ */
+public class EndgameSolver extends BasicReversiStrategy implements AnytimeStrategy {
+
+  /**
+   * The number of empty hexagons the solver takes over at by default. Most games on the default
+   * board end with around 20 hexagons still empty, once neither player can move, and from 30 empty
+   * hexagons a solve almost always finishes within {@link #DEFAULT_MAX_NODES}, in a few
+   * milliseconds. Much above that, most solves give up and only waste the time of the fallback.
+   */
+  public static final int DEFAULT_EMPTY_CELLS = 30;
+
+  /**
+   * The number of positions a solve may look at by default, which takes around a second.
+   */
+  public static final long DEFAULT_MAX_NODES = 500_000;
+
+  //moves are only ordered when at least this many cells are empty. Below that, ordering costs
+  //more than the search it saves.
+  private static final int ORDERING_EMPTY_CELLS = 6;
+
+  //the clock is only read once every this many nodes (must be one less than a power of two).
+  private static final int CLOCK_INTERVAL = 1023;
+
+  private final ReversiStrategy fallback;
+  private final int emptyCells;
+
+  private final long maxNodes;
+
+  private long nodeLimit;
+  private long deadline;
+  private boolean timed;
+  private long nodesSearched;
+  private boolean gaveUp;
+
+  /**
+   * Constructor method, solves the last {@link #DEFAULT_EMPTY_CELLS} empty hexagons.
+   *
+   * @param fallback is the strategy to play until the endgame.
+   */
+  public EndgameSolver(ReversiStrategy fallback) {
+    this(fallback, DEFAULT_EMPTY_CELLS);
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param fallback   is the strategy to play until the endgame.
+   * @param emptyCells is the number of empty hexagons at which the solver takes over.
+   * @throws IllegalArgumentException if the number of empty hexagons is negative.
+   */
+  public EndgameSolver(ReversiStrategy fallback, int emptyCells) {
+    this(fallback, emptyCells, DEFAULT_MAX_NODES);
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param fallback   is the strategy to play until the endgame.
+   * @param emptyCells is the number of empty hexagons at which the solver takes over.
+   * @param maxNodes   is the number of positions a solve may look at before it gives up and the
+   *                   fallback strategy chooses the move instead.
+   * @throws IllegalArgumentException if the number of empty hexagons is negative, or the number
+   *                                  of positions is not positive.
+   */
+  public EndgameSolver(ReversiStrategy fallback, int emptyCells, long maxNodes) {
+    Objects.requireNonNull(fallback);
+    if (emptyCells < 0 || maxNodes < 1) {
+      throw new IllegalArgumentException("Empty cells or node limit are out of range");
+    }
+    this.fallback = fallback;
+    this.emptyCells = emptyCells;
+    this.maxNodes = maxNodes;
+    super.resetData();
+  }
+
+  /**
+   * Chooses the move with the best final disc difference once the game is close enough to its
+   * end, or the move of the fallback strategy before then. When solving, the weight of the chosen
+   * move is the disc difference it leads to with perfect play; the weights of the other moves are
+   * only upper bounds on theirs.
+   *
+   * @param model   is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @return the coordinates deemed to be the best move.
+   */
+  @Override
+  public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
+    return this.choose(model, forWhom, null);
+  }
+
+  /**
+   * Chooses a move as {@link #chooseMove(ReversiModel, Player)} does, but gives up solving once
+   * half of the given time budget is spent, and leaves the fallback strategy the rest.
+   *
+   * @param model   is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @param budget  is the time the solver and the fallback strategy may take together.
+   * @return the coordinates deemed to be the best move.
+   * @throws IllegalArgumentException if the budget is negative.
+   */
+  @Override
+  public Optional<Coord> chooseMove(ReversiModel model, Player forWhom, Duration budget) {
+    nanosOf(budget);
+    return this.choose(model, forWhom, budget);
+  }
+
+  /**
+   * Chooses a move, solving the game if it is close enough to its end.
+   *
+   * @param model   is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @param budget  is the time the solver and the fallback strategy may take together, or null
+   *                if only the node limit stops the solver.
+   * @return the coordinates deemed to be the best move.
+   */
+  private Optional<Coord> choose(ReversiModel model, Player forWhom, Duration budget) {
+    super.resetData();
+    long start = System.nanoTime();
+    long budgetNanos = budget == null ? 0 : nanosOf(budget);
+    this.nodesSearched = 0;
+    if (model.getEmptyCount() <= this.emptyCells) {
+      this.gaveUp = false;
+      this.nodeLimit = this.maxNodes;
+      this.timed = budget != null;
+      this.deadline = start + budgetNanos / 2;
+      Optional<Coord> move = this.solveMove(model, forWhom);
+      this.timed = false;
+      if (!this.gaveUp) {
+        return move;
+      }
+      super.resetData();
+    }
+    Optional<Coord> move;
+    if (budget != null && this.fallback instanceof AnytimeStrategy) {
+      long left = Math.max(0, budgetNanos - (System.nanoTime() - start));
+      move = ((AnytimeStrategy) this.fallback).chooseMove(model, forWhom,
+          Duration.ofNanos(left));
+    } else {
+      move = this.fallback.chooseMove(model, forWhom);
+    }
+    if (move.isPresent()) {
+      super.weights.put(move.get(), this.fallback.getMoveWeight(move.get()));
+      super.updateHighestWeight(this.fallback.getMoveWeight(move.get()));
+    }
+    return move;
+  }
+
+  /**
+   * Finds the move with the best final disc difference, unless the search looks at too many
+   * positions.
+   *
+   * @param model   is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @return the best move, if the search finished.
+   */
+  private Optional<Coord> solveMove(ReversiModel model, Player forWhom) {
+    Position position = new Position(model);
+    int mover = Position.colorOf(forWhom);
+    int[] moves = new int[position.emptyCount];
+    int count = position.legalMoves(mover, moves);
+    position.orderMoves(mover, moves, count);
+    int alpha = -Integer.MAX_VALUE;
+    Coord best = null;
+    for (int i = 0; i < count; i++) {
+      int flips = position.play(moves[i], mover);
+      int score = -this.solve(position, 3 - mover, -Integer.MAX_VALUE, -alpha, false);
+      position.undo(moves[i], mover, flips);
+      if (this.gaveUp) {
+        return Optional.empty();
+      }
+      Coord move = new Coord(position.geometry.cellRow(moves[i]),
+          position.geometry.cellCol(moves[i]));
+      super.weights.put(move, score);
+      if (score > alpha) {
+        alpha = score;
+        best = move;
+      }
+    }
+    super.updateHighestWeight(alpha);
+    return Optional.ofNullable(best);
+  }
+
+  @Override
+  public ReversiStrategy makeCopy() {
+    return new EndgameSolver(this.fallback.makeCopy(), this.emptyCells, this.maxNodes);
+  }
+
+  /**
+   * Finds the final disc difference of a game if both players play perfectly from now on, with
+   * the given player to move. This searches to the end of the game however long it takes.
+   *
+   * @param model   is the game.
+   * @param forWhom is the player to move.
+   * @return the number of discs the player ends with minus the number the other player ends with.
+   */
+  public int solve(ReversiModel model, Player forWhom) {
+    this.nodesSearched = 0;
+    this.gaveUp = false;
+    this.nodeLimit = Long.MAX_VALUE;
+    return this.solve(new Position(model), Position.colorOf(forWhom), -Integer.MAX_VALUE,
+        Integer.MAX_VALUE, false);
+  }
+
+  /**
+   * Gets the number of positions looked at by the most recent solve.
+   *
+   * @return the number of nodes searched, or 0 if the game was not yet in the endgame.
+   */
+  public long getNodesSearched() {
+    return this.nodesSearched;
+  }
+
+  /**
+   * Searches a position to the end of the game.
+   *
+   * @param position is the position, which is left as it was.
+   * @param mover    is the color of the player to move, 1 for X and 2 for O.
+   * @param alpha    is the score the mover is already sure of.
+   * @param beta     is the score the other player is already sure of, negated.
+   * @param passed   is true if the other player just passed.
+   * @return the final disc difference for the mover.
+   */
+  private int solve(Position position, int mover, int alpha, int beta, boolean passed) {
+    this.nodesSearched++;
+    if (this.nodesSearched > this.nodeLimit || (this.timed
+        && (this.nodesSearched & CLOCK_INTERVAL) == 0 && System.nanoTime() - this.deadline > 0)) {
+      this.gaveUp = true;
+    }
+    if (this.gaveUp) {
+      return 0;
+    }
+    int other = 3 - mover;
+    if (position.emptyCount == 0) {
+      return position.discs[mover] - position.discs[other];
+    }
+
+    int[] moves = position.moveBuffer(position.emptyCount, passed);
+    int count = position.legalMoves(mover, moves);
+    if (count == 0) {
+      if (passed) {
+        return position.discs[mover] - position.discs[other];
+      }
+      return -this.solve(position, other, -beta, -alpha, true);
+    }
+    if (position.emptyCount >= ORDERING_EMPTY_CELLS) {
+      position.orderMoves(mover, moves, count);
+    }
+
+    int best = -Integer.MAX_VALUE;
+    for (int i = 0; i < count; i++) {
+      int flips = position.play(moves[i], mover);
+      int score = -this.solve(position, other, -beta, -alpha, false);
+      position.undo(moves[i], mover, flips);
+      if (score > best) {
+        best = score;
+        if (score > alpha) {
+          alpha = score;
+          if (alpha >= beta) {
+            break;
+          }
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Represents a board being solved, as one byte per cell: 0 for empty, 1 for X and 2 for O.
+   */
+  private static final class Position {
+    private final BoardGeometry geometry;
+    private final byte[] cells;
+    private final int[] discs = new int[3];
+
+    //the empty cells are empties[0] to empties[emptyCount - 1].
+    private final int[] empties;
+    private int emptyCount;
+
+    //the cells flipped by every move still on the board, most recent last.
+    private final int[] flipStack;
+    private int flipTop;
+
+    //a list of moves for every number of empty cells, and another for after a pass.
+    private final int[][] moveBuffers;
+    private final int[][] passBuffers;
+
+    //scratch space for ordering moves.
+    private final int[] region;
+    private final int[] regionQueue;
+    private final int[] orderKeys;
+
+    /**
+     * Copies the board of a game.
+     *
+     * @param model is the game.
+     */
+    private Position(ReversiModel model) {
+      List<List<Hexagon>> board = model.getBoardView();
+      this.geometry = BoardGeometry.of(board);
+      int cellCount = this.geometry.cellCount();
+      this.cells = new byte[cellCount];
+      this.empties = new int[cellCount];
+      for (int cell = 0; cell < cellCount; cell++) {
+        Hexagon hexagon = board.get(this.geometry.cellRow(cell)).get(this.geometry.cellCol(cell));
+        if (hexagon == Hexagon.EMPTY) {
+          this.empties[this.emptyCount] = cell;
+          this.emptyCount++;
+        } else {
+          this.cells[cell] = (byte) (hexagon == Hexagon.X ? 1 : 2);
+          this.discs[this.cells[cell]]++;
+        }
+      }
+      this.flipStack = new int[cellCount * this.emptyCount];
+      this.moveBuffers = new int[this.emptyCount + 1][this.emptyCount];
+      this.passBuffers = new int[this.emptyCount + 1][this.emptyCount];
+      this.region = new int[cellCount];
+      this.regionQueue = new int[this.emptyCount];
+      this.orderKeys = new int[this.emptyCount];
+    }
+
+    /**
+     * Gets the color of a player.
+     *
+     * @param player is the player.
+     * @return 1 for X and 2 for O.
+     */
+    private static int colorOf(Player player) {
+      return player.toString().equals("X") ? 1 : 2;
+    }
+
+    /**
+     * Gets a list to put the moves of a position in, which is not used by any position before it
+     * in the search.
+     *
+     * @param empties is the number of empty cells of the position.
+     * @param passed  is true if the position was reached by a pass.
+     * @return the list.
+     */
+    private int[] moveBuffer(int empties, boolean passed) {
+      return passed ? this.passBuffers[empties] : this.moveBuffers[empties];
+    }
+
+    /**
+     * Lists the legal moves of a player.
+     *
+     * @param color is the color of the player.
+     * @param moves is filled in with the cells of the moves.
+     * @return the number of moves.
+     */
+    private int legalMoves(int color, int[] moves) {
+      int count = 0;
+      for (int i = 0; i < this.emptyCount; i++) {
+        if (this.isLegal(this.empties[i], color)) {
+          moves[count] = this.empties[i];
+          count++;
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Determines if a move is legal. A move captures a line if the run of filled cells from it
+     * ends with a disc of the player and contains a disc of the other player.
+     *
+     * @param cell  is the empty cell of the move.
+     * @param color is the color of the player.
+     * @return true if the move captures at least one line.
+     */
+    private boolean isLegal(int cell, int color) {
+      for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+        if (this.capturedRunEnd(cell, direction, color) >= 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Finds the end of the line a move would capture in one direction.
+     *
+     * @param cell      is the empty cell of the move.
+     * @param direction is the direction of the line.
+     * @param color     is the color of the player.
+     * @return the position in the ray after the last cell of the line, or -1 if it is not
+     *         captured.
+     */
+    private int capturedRunEnd(int cell, int direction, int color) {
+      boolean containsOther = false;
+      int last = 0;
+      int end = this.geometry.rayEnd(direction, cell);
+      int i = this.geometry.rayStart(direction, cell);
+      for (; i < end; i++) {
+        int next = this.cells[this.geometry.rayCell(i)];
+        if (next == 0) {
+          break;
+        }
+        if (next != color) {
+          containsOther = true;
+        }
+        last = next;
+      }
+      return containsOther && last == color ? i : -1;
+    }
+
+    /**
+     * Plays a legal move, pushing the flipped cells onto the stack.
+     *
+     * @param cell  is the cell of the move.
+     * @param color is the color of the player.
+     * @return the number of cells flipped.
+     */
+    private int play(int cell, int color) {
+      int flips = 0;
+      for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+        int end = this.capturedRunEnd(cell, direction, color);
+        for (int i = this.geometry.rayStart(direction, cell); i < end; i++) {
+          int next = this.geometry.rayCell(i);
+          if (this.cells[next] != color) {
+            this.cells[next] = (byte) color;
+            this.flipStack[this.flipTop] = next;
+            this.flipTop++;
+            flips++;
+          }
+        }
+      }
+      this.cells[cell] = (byte) color;
+      this.discs[color] += flips + 1;
+      this.discs[3 - color] -= flips;
+      for (int i = 0; i < this.emptyCount; i++) {
+        if (this.empties[i] == cell) {
+          this.emptyCount--;
+          this.empties[i] = this.empties[this.emptyCount];
+          this.empties[this.emptyCount] = cell;
+          break;
+        }
+      }
+      return flips;
+    }
+
+    /**
+     * Undoes the most recent move still on the board.
+     *
+     * @param cell  is the cell of the move.
+     * @param color is the color of the player who made it.
+     * @param flips is the number of cells it flipped.
+     */
+    private void undo(int cell, int color, int flips) {
+      for (int i = 0; i < flips; i++) {
+        this.flipTop--;
+        this.cells[this.flipStack[this.flipTop]] = (byte) (3 - color);
+      }
+      this.cells[cell] = 0;
+      this.discs[color] -= flips + 1;
+      this.discs[3 - color] += flips;
+      //the cell was swapped to just past the end of the list, so growing the list restores it.
+      this.emptyCount++;
+    }
+
+    /**
+     * Sorts moves so that moves in regions with an odd number of empty cells come first, and
+     * within those, moves that leave the other player fewer replies come first.
+     *
+     * @param color is the color of the player to move.
+     * @param moves is the list of moves.
+     * @param count is the number of moves.
+     */
+    private void orderMoves(int color, int[] moves, int count) {
+      this.sizeRegions();
+      for (int i = 0; i < count; i++) {
+        int flips = this.play(moves[i], color);
+        int replies = this.countMoves(3 - color);
+        this.undo(moves[i], color, flips);
+        this.orderKeys[i] = (this.region[moves[i]] % 2 == 1 ? 0 : 1000) + replies;
+      }
+      //insertion sort, as there are only a handful of moves.
+      for (int i = 1; i < count; i++) {
+        int move = moves[i];
+        int key = this.orderKeys[i];
+        int j = i - 1;
+        for (; j >= 0 && this.orderKeys[j] > key; j--) {
+          moves[j + 1] = moves[j];
+          this.orderKeys[j + 1] = this.orderKeys[j];
+        }
+        moves[j + 1] = move;
+        this.orderKeys[j + 1] = key;
+      }
+    }
+
+    /**
+     * Counts the legal moves of a player.
+     *
+     * @param color is the color of the player.
+     * @return the number of moves.
+     */
+    private int countMoves(int color) {
+      int count = 0;
+      for (int i = 0; i < this.emptyCount; i++) {
+        if (this.isLegal(this.empties[i], color)) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    /**
+     * Finds the regions of empty cells that touch each other, and records the size of its region
+     * for every empty cell.
+     */
+    private void sizeRegions() {
+      for (int i = 0; i < this.emptyCount; i++) {
+        this.region[this.empties[i]] = 0;
+      }
+      for (int i = 0; i < this.emptyCount; i++) {
+        int start = this.empties[i];
+        if (this.region[start] != 0) {
+          continue;
+        }
+        //breadth first search, marking cells as -1 until the size of the region is known.
+        int size = 0;
+        this.regionQueue[size] = start;
+        this.region[start] = -1;
+        size++;
+        for (int head = 0; head < size; head++) {
+          int cell = this.regionQueue[head];
+          for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+            int first = this.geometry.rayStart(direction, cell);
+            if (first == this.geometry.rayEnd(direction, cell)) {
+              continue;
+            }
+            int neighbor = this.geometry.rayCell(first);
+            if (this.cells[neighbor] == 0 && this.region[neighbor] == 0) {
+              this.region[neighbor] = -1;
+              this.regionQueue[size] = neighbor;
+              size++;
+            }
+          }
+        }
+        for (int j = 0; j < size; j++) {
+          this.region[this.regionQueue[j]] = size;
+        }
+      }
+    }
+  }
+}
@@ -3,7 +3,8 @@ package cs3500.hw5.strategies;
 import cs3500.hw5.model.Coord;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
-import java.util.ArrayList;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,33 +23,22 @@ public class Minimax extends BasicReversiStrategy {
 
   /**
    * Chooses best move considering their opponents next move.
-   * @param model is the game the move will be made on.
+   * @param game is the game the move will be made on.
    * @param forWhom is the player who will make the move.
    * @return the coordinates deemed to be the best move.
    */
-  public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom) {
+    ReversiModel model = super.forkForSearch(game);
     List<Coord> moves = super.getAllPossibleMoves(model, forWhom);
     Player opponent = super.getOpponent(model, forWhom);
     int initialDifference = model.getScore(forWhom) - model.getScore(opponent);
     for (Coord move : moves) {
-      ReversiModel resultingGame = this.makeTheoreticalMove(model, forWhom, move);
-      boolean makeOpponentMove = true;
-      Optional<Coord> opponentMove = Optional.empty();
-      try {
-        opponentMove = new CaptureMostPieces().chooseMove(resultingGame, opponent);
-      }
-      catch (Exception e) {
-        makeOpponentMove = false;
-      }
-
       int weight;
-      if (makeOpponentMove) {
-        ReversiModel completedGame = this.makeTheoreticalMove(resultingGame, opponent,
-            opponentMove.get());
-        weight = initialDifference -
-            (completedGame.getScore(forWhom) - completedGame.getScore(opponent));
+      if (model instanceof SearchableReversiModel) {
+        weight = this.weighMoveInPlace((SearchableReversiModel) model, forWhom, opponent, move,
+            initialDifference);
       } else {
-        weight = resultingGame.getScore(forWhom);
+        weight = this.weighMoveOnCopy(model, forWhom, opponent, move, initialDifference);
       }
       super.weights.put(move, weight);
       this.updateHighestWeight(weight);
@@ -61,10 +51,69 @@ public class Minimax extends BasicReversiStrategy {
     return new Minimax();
   }
 
+  /**
+   * Weighs a move by making it, and the opponent's best reply, in place on the game, and undoing
+   * both afterwards.
+   *
+   * @param model             is the game the move will be made on.
+   * @param forWhom           is the player who will make the move.
+   * @param opponent          is the opponent of the player.
+   * @param move              is the move to weigh.
+   * @param initialDifference is the difference in score before the move.
+   * @return the weight of the move.
+   */
+  private int weighMoveInPlace(SearchableReversiModel model, Player forWhom, Player opponent,
+      Coord move, int initialDifference) {
+    UndoRecord pass = super.passUntilTurnOf(model, forWhom);
+    UndoRecord record = model.doMove(move);
+    Optional<Coord> opponentMove = new CaptureMostPieces().chooseMove(model, opponent);
+
+    int weight;
+    if (opponentMove.isPresent()) {
+      UndoRecord opponentPass = super.passUntilTurnOf(model, opponent);
+      UndoRecord opponentRecord = model.doMove(opponentMove.get());
+      weight = initialDifference - (model.getScore(forWhom) - model.getScore(opponent));
+      super.undoMoves(model, opponentRecord, opponentPass);
+    } else {
+      weight = model.getScore(forWhom);
+    }
+    super.undoMoves(model, record, pass);
+    return weight;
+  }
+
+  /**
+   * Weighs a move by making it, and the opponent's best reply, on copies of the game.
+   *
+   * @param model             is the game the move will be made on.
+   * @param forWhom           is the player who will make the move.
+   * @param opponent          is the opponent of the player.
+   * @param move              is the move to weigh.
+   * @param initialDifference is the difference in score before the move.
+   * @return the weight of the move.
+   */
+  private int weighMoveOnCopy(ReversiModel model, Player forWhom, Player opponent, Coord move,
+      int initialDifference) {
+    ReversiModel resultingGame = this.makeTheoreticalMove(model, forWhom, move);
+    Optional<Coord> opponentMove = Optional.empty();
+    try {
+      opponentMove = new CaptureMostPieces().chooseMove(resultingGame, opponent);
+    }
+    catch (Exception e) {
+      //the opponent cannot move, same as having no move.
+    }
+
+    if (opponentMove.isPresent()) {
+      ReversiModel completedGame = this.makeTheoreticalMove(resultingGame, opponent,
+          opponentMove.get());
+      return initialDifference
+          - (completedGame.getScore(forWhom) - completedGame.getScore(opponent));
+    }
+    return resultingGame.getScore(forWhom);
+  }
+
   private ReversiModel makeTheoreticalMove(ReversiModel model,
       Player forWhom, Coord move) {
     ReversiModel tempModel = model.makeCopy();
-    super.startTempGame(tempModel, forWhom, new ArrayList<>(model.getBoard()));
     tempModel.makeMove(forWhom, move);
     return tempModel;
   }
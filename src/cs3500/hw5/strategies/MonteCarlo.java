@@ -0,0 +1,532 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.BoardGeometry;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Hexagon;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reversi strategy that runs Monte Carlo Tree Search (UCT). Each playout walks down a tree of
+ * moves, always taking the move that best balances how often it has won against how rarely it has
+ * been tried, adds one new move to the tree, and then plays random moves until the game ends. The
+ * result is added to every move on the way down. The move played is the one tried most often.
+ *
+ * <p>With more than one thread, every thread grows a tree of its own on its own copy of the game,
+ * and the number of times each move at the root was tried is added up across the trees. The
+ * trees are grown on the same pool of search threads as alpha-beta searches, so a copy of the
+ * strategy made for every move starts no threads of its own.
+ *
+ * <p>The trees of a search are kept until the next one. If the next search is of the same
+ * position, as when a robot pondered the position on its opponent's time, it carries on growing
+ * them instead of starting again.
+ *
+ * <p>Playouts are not played on the game itself but on a small board of each thread's own: one
+ * byte per hexagon and lists of the empty cells and of the legal moves, loaded from the game
+ * before every playout and reused by the next, so a playout allocates nothing.
+ */
+public class MonteCarlo extends BasicReversiStrategy implements AnytimeStrategy {
+
+  /**
+   * The time budget of a search by default, in milliseconds.
+   */
+  public static final long DEFAULT_BUDGET_MILLIS = 1000;
+
+  //how much an untried move is favored over a move that has done well. The square root of two is
+  //the value the UCT formula was proven with.
+  private static final double EXPLORATION = Math.sqrt(2);
+
+  private final long budgetNanos;
+  private final long maxPlayouts;
+  private final int threads;
+
+  private final SplittableRandom random;
+
+  //the trees grown by the last search, one per thread, and the hash of the position they are of.
+  private List<Node> trees;
+  private long treeKey;
+
+  private long deadline;
+  private AtomicLong playouts;
+  private long elapsedNanos;
+
+  /**
+   * Constructor method, searches with one thread until the default time budget runs out.
+   */
+  public MonteCarlo() {
+    this(DEFAULT_BUDGET_MILLIS, Long.MAX_VALUE, 1);
+  }
+
+  /**
+   * Constructor method.
+   *
+   * @param budgetMillis is the time a search may take, in milliseconds.
+   * @param maxPlayouts  is the number of playouts a search may run, in total across threads.
+   * @param threads      is the number of threads to search with, of which no more run at once
+   *                     than there are processors.
+   * @throws IllegalArgumentException if the budget, playouts or threads are not positive.
+   */
+  public MonteCarlo(long budgetMillis, long maxPlayouts, int threads) {
+    this(budgetMillis, maxPlayouts, threads, new SplittableRandom());
+  }
+
+  /**
+   * Constructor method, draws random moves from the given generator.
+   *
+   * @param budgetMillis is the time a search may take, in milliseconds.
+   * @param maxPlayouts  is the number of playouts a search may run, in total across threads.
+   * @param threads      is the number of threads to search with, of which no more run at once
+   *                     than there are processors.
+   * @param random       is the random number generator.
+   * @throws IllegalArgumentException if the budget, playouts or threads are not positive.
+   */
+  public MonteCarlo(long budgetMillis, long maxPlayouts, int threads, SplittableRandom random) {
+    if (budgetMillis < 1 || maxPlayouts < 1 || threads < 1) {
+      throw new IllegalArgumentException("Budget, playouts and threads must be positive");
+    }
+    this.budgetNanos = Math.min(budgetMillis, Long.MAX_VALUE / 1_000_000) * 1_000_000;
+    this.maxPlayouts = maxPlayouts;
+    this.threads = threads;
+    this.random = random;
+    this.playouts = new AtomicLong();
+    super.resetData();
+  }
+
+  /**
+   * Chooses the move tried the most often. The weight of each move is the number of playouts that
+   * started with it, including those of the last search if it was of the same position.
+   *
+   * @param game    is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @return the coordinates deemed to be the best move.
+   */
+  @Override
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom) {
+    return this.chooseMove(game, forWhom, Duration.ofNanos(this.budgetNanos));
+  }
+
+  /**
+   * Chooses the move tried the most often before the given time budget, instead of the budget of
+   * this strategy, runs out. If the budget runs out before any playout, every move has a weight
+   * of 0.
+   *
+   * @param game    is the game the move will be made on.
+   * @param forWhom is the player who will make the move.
+   * @param budget  is the time the search may take.
+   * @return the coordinates deemed to be the best move.
+   * @throws IllegalArgumentException if the budget is negative.
+   */
+  @Override
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom, Duration budget) {
+    super.resetData();
+    long start = System.nanoTime();
+    this.deadline = start + nanosOf(budget);
+    this.playouts = new AtomicLong();
+
+    SearchableReversiModel model = super.searchableCopy(game, forWhom);
+    if (!model.hasLegalMove(forWhom)) {
+      this.elapsedNanos = System.nanoTime() - start;
+      return Optional.empty();
+    }
+    super.passUntilTurnOf(model, forWhom);
+
+    List<Node> roots = new ArrayList<>();
+    boolean reuse = this.trees != null && this.treeKey == model.positionHash();
+    for (int i = 0; i < this.threads; i++) {
+      roots.add(reuse ? this.trees.get(i) : new Node(null, -1, !this.isTurnOfX(model)));
+    }
+    if (this.threads == 1) {
+      this.grow(model, roots.get(0), this.random.split());
+    } else {
+      List<ForkJoinTask<?>> tasks = new ArrayList<>();
+      for (Node root : roots) {
+        SearchableReversiModel copy = (SearchableReversiModel) model.makeCopy();
+        SplittableRandom threadRandom = this.random.split();
+        tasks.add(SearchThreads.POOL.submit(() -> this.grow(copy, root, threadRandom)));
+      }
+      for (ForkJoinTask<?> task : tasks) {
+        task.join();
+      }
+    }
+    this.elapsedNanos = System.nanoTime() - start;
+    this.trees = roots;
+    this.treeKey = model.positionHash();
+
+    BoardGeometry geometry = model.getGeometry();
+    int[] visits = new int[geometry.cellCount()];
+    for (Node root : roots) {
+      for (Node child : root.children) {
+        visits[child.cell] += child.visits;
+      }
+    }
+    for (int cell = 0; cell < geometry.cellCount(); cell++) {
+      if (model.isLegalMove(cell, forWhom)) {
+        super.weights.put(new Coord(geometry.cellRow(cell), geometry.cellCol(cell)),
+            visits[cell]);
+        super.updateHighestWeight(visits[cell]);
+      }
+    }
+    return super.getMoveWithHighestWeight();
+  }
+
+  @Override
+  public ReversiStrategy makeCopy() {
+    return new MonteCarlo(this.budgetNanos / 1_000_000, this.maxPlayouts, this.threads);
+  }
+
+  /**
+   * Gets the number of playouts run by the most recent search, by all of its threads.
+   *
+   * @return the number of playouts.
+   */
+  public long getPlayouts() {
+    return this.playouts.get();
+  }
+
+  /**
+   * Gets how many playouts the most recent search ran per second, by all of its threads.
+   *
+   * @return the number of playouts per second.
+   */
+  public double getPlayoutsPerSecond() {
+    if (this.elapsedNanos == 0) {
+      return 0;
+    }
+    return this.playouts.get() * 1e9 / this.elapsedNanos;
+  }
+
+  /**
+   * Grows a tree on a game until the time or playouts run out.
+   *
+   * @param model  is the game, which is searched in place and left as it was.
+   * @param root   is the root of the tree, for the position of the game.
+   * @param random is the random number generator of this thread.
+   */
+  private void grow(SearchableReversiModel model, Node root, SplittableRandom random) {
+    List<UndoRecord> path = new ArrayList<>();
+    Playout board = new Playout(model.getGeometry());
+    while (System.nanoTime() - this.deadline < 0) {
+      if (this.playouts.incrementAndGet() > this.maxPlayouts) {
+        this.playouts.decrementAndGet();
+        break;
+      }
+
+      //selection
+      Node node = root;
+      while (node.untried == 0 && !node.children.isEmpty()) {
+        node = node.select();
+        path.add(this.play(model, node.cell));
+      }
+
+      //expansion
+      if (node.moves == null) {
+        node.expand(model, this);
+      }
+      if (node.untried > 0) {
+        int i = random.nextInt(node.untried);
+        int cell = node.moves[i];
+        node.untried--;
+        node.moves[i] = node.moves[node.untried];
+        Node child = new Node(node, cell, this.isTurnOfX(model));
+        node.children.add(child);
+        path.add(this.play(model, cell));
+        node = child;
+      }
+
+      //simulation
+      double resultForX = board.run(model, this.isTurnOfX(model), random);
+      for (int i = path.size() - 1; i >= 0; i--) {
+        model.undoMove(path.get(i));
+      }
+      path.clear();
+
+      //backpropagation
+      for (Node visited = node; visited != null; visited = visited.parent) {
+        visited.visits++;
+        visited.wins += visited.movedX ? resultForX : 1 - resultForX;
+      }
+    }
+  }
+
+  /**
+   * Makes a move, or passes, on a game being searched.
+   *
+   * @param model is the game.
+   * @param cell  is the cell of the move, or -1 to pass.
+   * @return the record that undoes the move.
+   */
+  private UndoRecord play(SearchableReversiModel model, int cell) {
+    if (cell < 0) {
+      return model.doPass();
+    }
+    return model.doMove(cell);
+  }
+
+  /**
+   * Determines if it is the turn of X on a game.
+   *
+   * @param model is the game.
+   * @return true if X is to move, false otherwise.
+   */
+  private boolean isTurnOfX(SearchableReversiModel model) {
+    return model.getTurn().toString().equals("X");
+  }
+
+  /**
+   * Represents a move in the tree, and the results of every playout that went through it.
+   */
+  private static final class Node {
+    private final Node parent;
+    private final int cell;
+    private final boolean movedX;
+    private final List<Node> children = new ArrayList<>();
+
+    //the moves not yet in the tree are moves[0] to moves[untried - 1], null until expanded.
+    private int[] moves;
+    private int untried;
+
+    private int visits;
+    private double wins;
+
+    /**
+     * Creates a node with no children.
+     *
+     * @param parent is the node the move is made from, or null for the root.
+     * @param cell   is the cell of the move, or -1 for a pass.
+     * @param movedX is true if X made the move.
+     */
+    private Node(Node parent, int cell, boolean movedX) {
+      this.parent = parent;
+      this.cell = cell;
+      this.movedX = movedX;
+    }
+
+    /**
+     * Lists the moves that can be made from this node. A player who cannot move passes, unless
+     * the game is over.
+     *
+     * @param model    is the game, in the position of this node.
+     * @param strategy is the strategy searching the game.
+     */
+    private void expand(SearchableReversiModel model, MonteCarlo strategy) {
+      Player mover = model.getTurn();
+      int cellCount = model.getGeometry().cellCount();
+      int[] legal = new int[cellCount];
+      int count = 0;
+      for (int cell = 0; cell < cellCount; cell++) {
+        if (model.isLegalMove(cell, mover)) {
+          legal[count] = cell;
+          count++;
+        }
+      }
+      if (count == 0 && model.hasLegalMove(strategy.getOpponent(model, mover))) {
+        legal[0] = -1;
+        count = 1;
+      }
+      this.moves = legal;
+      this.untried = count;
+    }
+
+    /**
+     * Gets the child with the highest upper confidence bound.
+     *
+     * @return the child to search.
+     */
+    private Node select() {
+      double logVisits = Math.log(this.visits);
+      Node best = null;
+      double bestValue = Double.NEGATIVE_INFINITY;
+      for (Node child : this.children) {
+        double value = child.wins / child.visits
+            + EXPLORATION * Math.sqrt(logVisits / child.visits);
+        if (value > bestValue) {
+          best = child;
+          bestValue = value;
+        }
+      }
+      return best;
+    }
+  }
+
+  /**
+   * Represents the board a thread plays its playouts on, as one byte per cell: 0 for empty, 1 for
+   * X and 2 for O.
+   */
+  private static final class Playout {
+    private final BoardGeometry geometry;
+    private final byte[] cells;
+    private final int[] discs = new int[3];
+
+    //the empty cells are empties[0] to empties[emptyCount - 1].
+    private final int[] empties;
+    private int emptyCount;
+
+    //the legal moves of the player to move, filled in afresh for every move.
+    private final int[] moves;
+
+    /**
+     * Creates an empty board.
+     *
+     * @param geometry is the geometry of the board.
+     */
+    private Playout(BoardGeometry geometry) {
+      this.geometry = geometry;
+      this.cells = new byte[geometry.cellCount()];
+      this.empties = new int[geometry.cellCount()];
+      this.moves = new int[geometry.cellCount()];
+    }
+
+    /**
+     * Plays random moves from the position of a game until neither player can move.
+     *
+     * @param model   is the game, which is only read.
+     * @param turnOfX is true if X is to move.
+     * @param random  is the random number generator.
+     * @return 1 if X wins, 0 if O wins, and 0.5 for a draw.
+     */
+    private double run(SearchableReversiModel model, boolean turnOfX, SplittableRandom random) {
+      this.load(model);
+      int mover = turnOfX ? 1 : 2;
+      boolean passed = false;
+      while (this.emptyCount > 0) {
+        int cell = this.randomLegalCell(mover, random);
+        if (cell >= 0) {
+          this.play(cell, mover);
+          passed = false;
+        } else if (passed) {
+          break;
+        } else {
+          passed = true;
+        }
+        mover = 3 - mover;
+      }
+      int margin = this.discs[1] - this.discs[2];
+      if (margin == 0) {
+        return 0.5;
+      }
+      return margin > 0 ? 1 : 0;
+    }
+
+    /**
+     * Copies the board of a game.
+     *
+     * @param model is the game.
+     */
+    private void load(SearchableReversiModel model) {
+      this.discs[1] = 0;
+      this.discs[2] = 0;
+      this.emptyCount = 0;
+      for (int cell = 0; cell < this.cells.length; cell++) {
+        Hexagon hexagon = model.getCell(cell);
+        if (hexagon == Hexagon.EMPTY) {
+          this.cells[cell] = 0;
+          this.empties[this.emptyCount] = cell;
+          this.emptyCount++;
+        } else {
+          this.cells[cell] = (byte) (hexagon == Hexagon.X ? 1 : 2);
+          this.discs[this.cells[cell]]++;
+        }
+      }
+    }
+
+    /**
+     * Picks a legal move at random.
+     *
+     * @param color  is the color of the player to move.
+     * @param random is the random number generator.
+     * @return the cell of the move, or -1 if the player cannot move.
+     */
+    private int randomLegalCell(int color, SplittableRandom random) {
+      int legal = 0;
+      for (int i = 0; i < this.emptyCount; i++) {
+        if (this.isLegal(this.empties[i], color)) {
+          this.moves[legal] = this.empties[i];
+          legal++;
+        }
+      }
+      return legal == 0 ? -1 : this.moves[random.nextInt(legal)];
+    }
+
+    /**
+     * Determines if a move captures at least one line.
+     *
+     * @param cell  is the empty cell of the move.
+     * @param color is the color of the player.
+     * @return true if the move is legal.
+     */
+    private boolean isLegal(int cell, int color) {
+      for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+        if (this.capturedRunEnd(cell, direction, color) >= 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Finds the end of the line a move would capture in one direction.
+     *
+     * @param cell      is the empty cell of the move.
+     * @param direction is the direction of the line.
+     * @param color     is the color of the player.
+     * @return the position in the ray after the last cell of the line, or -1 if it is not
+     *         captured.
+     */
+    private int capturedRunEnd(int cell, int direction, int color) {
+      boolean containsOther = false;
+      int last = 0;
+      int end = this.geometry.rayEnd(direction, cell);
+      int i = this.geometry.rayStart(direction, cell);
+      for (; i < end; i++) {
+        int next = this.cells[this.geometry.rayCell(i)];
+        if (next == 0) {
+          break;
+        }
+        if (next != color) {
+          containsOther = true;
+        }
+        last = next;
+      }
+      return containsOther && last == color ? i : -1;
+    }
+
+    /**
+     * Plays a legal move.
+     *
+     * @param cell  is the cell of the move.
+     * @param color is the color of the player.
+     */
+    private void play(int cell, int color) {
+      int flips = 0;
+      for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+        int end = this.capturedRunEnd(cell, direction, color);
+        for (int i = this.geometry.rayStart(direction, cell); i < end; i++) {
+          int next = this.geometry.rayCell(i);
+          if (this.cells[next] != color) {
+            this.cells[next] = (byte) color;
+            flips++;
+          }
+        }
+      }
+      this.cells[cell] = (byte) color;
+      this.discs[color] += flips + 1;
+      this.discs[3 - color] -= flips;
+      for (int i = 0; i < this.emptyCount; i++) {
+        if (this.empties[i] == cell) {
+          this.emptyCount--;
+          this.empties[i] = this.empties[this.emptyCount];
+          break;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,298 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.BoardGeometry;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
+
+/**
+ * Puts the legal moves of a position in the order a search should try them. Alpha-beta pruning
+ * cuts off the most when the best move is tried first, so moves are ranked by, in order of
+ * importance:
+ *
+ * <ul>
+ *   <li>the best move of the position in the transposition table,</li>
+ *   <li>where the move is on the board, by its {@link PositionalWeights}: corners first, then
+ *   other edge hexagons, and hexagons next to corners last,</li>
+ *   <li>the killer moves of the ply, the last two moves that caused a cut-off at the same depth
+ *   of the search in another position,</li>
+ *   <li>the history table, how often and how deep a move has caused a cut-off anywhere,</li>
+ *   <li>and, far enough from the leaves for it to pay off, how few moves the opponent is left
+ *   with after the move.</li>
+ * </ul>
+ *
+ * <p>Killer moves rank below edges because the ply of a killer move says little about the
+ * position it is in; tried above the corners, they cut off less often than the corners do.
+ *
+ * <p>An ordering also counts the cut-offs reported to it, and how many of them came from the
+ * first move tried, which is how good the ordering is.
+ *
+ * <p>An ordering keeps state between the positions of a search, so each thread of a search needs
+ * one of its own.
+ */
+public class MoveOrdering {
+
+  //the rank given to each kind of move. A hexagon is ranked this many times its positional
+  //weight, so a killer move outranks a hexagon of its own kind, but not an edge over an interior
+  //hexagon.
+  private static final int TABLE_MOVE = 1 << 30;
+  private static final int PLACEMENT = 1 << 22;
+  private static final int KILLER_MOVE = 1 << 22;
+
+  //the history of a move is capped below this, so that it never outranks a killer move.
+  private static final int MAX_HISTORY = 1 << 20;
+
+  //each move the opponent is left with costs this much rank.
+  private static final int MOBILITY = 1 << 12;
+
+  //the opponent's moves are only counted at least this many plies from the leaves.
+  private static final int MOBILITY_DEPTH = 6;
+
+  private final BoardGeometry geometry;
+  private final int[] placement;
+  private final int[] history;
+
+  //two killer moves for each ply, -1 when there are none.
+  private int[][] killers;
+
+  //a buffer of moves and their ranks for each ply, so ordering allocates nothing.
+  private int[][] moves;
+  private int[][] ranks;
+
+  private long cutoffs;
+  private long firstMoveCutoffs;
+
+  /**
+   * Constructor method.
+   *
+   * @param geometry is the geometry of the board searched.
+   */
+  public MoveOrdering(BoardGeometry geometry) {
+    this.geometry = geometry;
+    int cellCount = geometry.cellCount();
+    PositionalWeights positions = PositionalWeights.of(geometry);
+    this.placement = new int[cellCount];
+    for (int cell = 0; cell < cellCount; cell++) {
+      this.placement[cell] = PLACEMENT * positions.weightOf(cell);
+    }
+    this.history = new int[cellCount];
+    this.killers = new int[0][];
+    this.moves = new int[0][];
+    this.ranks = new int[0][];
+  }
+
+  /**
+   * Constructor method, for another thread of the same search. The copy starts with the history
+   * of the original, but no killer moves and no cut-offs counted.
+   *
+   * @param original is the ordering to copy.
+   */
+  public MoveOrdering(MoveOrdering original) {
+    this.geometry = original.geometry;
+    this.placement = original.placement;
+    this.history = original.history.clone();
+    this.killers = new int[0][];
+    this.moves = new int[0][];
+    this.ranks = new int[0][];
+  }
+
+  /**
+   * Gets the geometry of the board this ordering is for.
+   *
+   * @return the geometry.
+   */
+  public BoardGeometry getGeometry() {
+    return this.geometry;
+  }
+
+  /**
+   * Lists the legal moves of a position, best first, in the buffer of the ply returned by
+   * {@link #getMoves(int)}. The list is only valid until moves are ordered again at the ply.
+   *
+   * @param model     is the game being searched.
+   * @param mover     is the player to move.
+   * @param other     is the other player.
+   * @param ply       is how many moves the position is from the root of the search.
+   * @param depth     is how many moves are left to search below the position.
+   * @param tableMove is the best move of the position in the transposition table, or -1.
+   * @return the number of legal moves.
+   */
+  public int order(SearchableReversiModel model, Player mover, Player other, int ply, int depth,
+      int tableMove) {
+    this.ensurePly(ply);
+    int[] list = this.moves[ply];
+    int[] rank = this.ranks[ply];
+    int[] killer = this.killers[ply];
+    int count = 0;
+    for (int cell = 0; cell < list.length; cell++) {
+      if (!model.isLegalMove(cell, mover)) {
+        continue;
+      }
+      int score;
+      if (cell == tableMove) {
+        score = TABLE_MOVE;
+      } else {
+        score = this.placement[cell] + this.history[cell];
+        if (cell == killer[0] || cell == killer[1]) {
+          score += KILLER_MOVE;
+        }
+        if (depth >= MOBILITY_DEPTH) {
+          UndoRecord record = model.doMove(cell);
+          score -= MOBILITY * this.countMoves(model, other);
+          model.undoMove(record);
+        }
+      }
+      //insertion sort, since there are only ever a few dozen moves.
+      int i = count;
+      while (i > 0 && rank[i - 1] < score) {
+        list[i] = list[i - 1];
+        rank[i] = rank[i - 1];
+        i--;
+      }
+      list[i] = cell;
+      rank[i] = score;
+      count++;
+    }
+    return count;
+  }
+
+  /**
+   * Gets the moves listed by the last call to
+   * {@link #order(SearchableReversiModel, Player, Player, int, int, int)} at a ply.
+   *
+   * @param ply is the ply.
+   * @return the moves, best first, of which only as many as were counted are valid.
+   */
+  public int[] getMoves(int ply) {
+    return this.moves[ply];
+  }
+
+  /**
+   * Records that a move caused a cut-off, making it a killer move of its ply and raising its
+   * history.
+   *
+   * @param ply   is how many moves the position is from the root of the search.
+   * @param depth is how many moves were left to search below the position.
+   * @param cell  is the cell of the move.
+   * @param index is where the move was in the order it was tried, 0 for the first.
+   */
+  public void recordCutoff(int ply, int depth, int cell, int index) {
+    this.ensurePly(ply);
+    this.cutoffs++;
+    if (index == 0) {
+      this.firstMoveCutoffs++;
+    }
+    int[] killer = this.killers[ply];
+    if (killer[0] != cell) {
+      killer[1] = killer[0];
+      killer[0] = cell;
+    }
+    this.history[cell] = Math.min(MAX_HISTORY - 1, this.history[cell] + depth * depth);
+  }
+
+  /**
+   * Gets ready for a new search. The killer moves are forgotten, since the plies now stand for
+   * other positions, and the history is halved, so that it favors what was learned recently.
+   */
+  public void age() {
+    for (int[] killer : this.killers) {
+      killer[0] = -1;
+      killer[1] = -1;
+    }
+    for (int cell = 0; cell < this.history.length; cell++) {
+      this.history[cell] /= 2;
+    }
+  }
+
+  /**
+   * Adds the cut-offs counted by another ordering to the counts of this one.
+   *
+   * @param other is the other ordering.
+   */
+  public void addCounts(MoveOrdering other) {
+    this.cutoffs += other.cutoffs;
+    this.firstMoveCutoffs += other.firstMoveCutoffs;
+  }
+
+  /**
+   * Resets the counts of cut-offs.
+   */
+  public void resetCounts() {
+    this.cutoffs = 0;
+    this.firstMoveCutoffs = 0;
+  }
+
+  /**
+   * Gets the number of cut-offs recorded.
+   *
+   * @return the number of cut-offs.
+   */
+  public long getCutoffs() {
+    return this.cutoffs;
+  }
+
+  /**
+   * Gets the number of cut-offs recorded that came from the first move tried.
+   *
+   * @return the number of first-move cut-offs.
+   */
+  public long getFirstMoveCutoffs() {
+    return this.firstMoveCutoffs;
+  }
+
+  /**
+   * Gets the share of cut-offs that came from the first move tried.
+   *
+   * @return the first-move cut-off rate, from 0 to 1, or 0 if there were no cut-offs.
+   */
+  public double getFirstMoveCutoffRate() {
+    if (this.cutoffs == 0) {
+      return 0;
+    }
+    return (double) this.firstMoveCutoffs / this.cutoffs;
+  }
+
+  /**
+   * Counts the legal moves of a player.
+   *
+   * @param model  is the game.
+   * @param player is the player.
+   * @return the number of legal moves.
+   */
+  private int countMoves(SearchableReversiModel model, Player player) {
+    int count = 0;
+    for (int cell = 0; cell < this.placement.length; cell++) {
+      if (model.isLegalMove(cell, player)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Makes sure there are killer moves and buffers for a ply.
+   *
+   * @param ply is the ply.
+   */
+  private void ensurePly(int ply) {
+    int plies = this.killers.length;
+    if (ply < plies) {
+      return;
+    }
+    int newPlies = Math.max(ply + 1, plies * 2);
+    int[][] newKillers = new int[newPlies][];
+    int[][] newMoves = new int[newPlies][];
+    int[][] newRanks = new int[newPlies][];
+    System.arraycopy(this.killers, 0, newKillers, 0, plies);
+    System.arraycopy(this.moves, 0, newMoves, 0, plies);
+    System.arraycopy(this.ranks, 0, newRanks, 0, plies);
+    for (int i = plies; i < newPlies; i++) {
+      newKillers[i] = new int[] {-1, -1};
+      newMoves[i] = new int[this.placement.length];
+      newRanks[i] = new int[this.placement.length];
+    }
+    this.killers = newKillers;
+    this.moves = newMoves;
+    this.ranks = newRanks;
+  }
+}
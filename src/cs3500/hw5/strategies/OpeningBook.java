@@ -0,0 +1,266 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.BoardGeometry;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * A book of the best moves of the opening positions of one board size, searched ahead of time so
+ * that robots do not search them again in every game.
+ *
+ * <p>A book is built by {@link #build(int, int, int, ReversiStrategy, Path)}, which searches every
+ * position reachable in the first few moves and writes a file of records sorted by the hash of
+ * the position. A book is read by {@link #open(Path)}, which maps the file into memory instead of
+ * reading it onto the heap, and finds a position by binary search, so only the pages of the file
+ * that are looked at are ever loaded. A book can be read by any number of threads at once.
+ *
+ * <p>The file starts with a header of eight ints: a magic number, the version of the format, the
+ * maximum and minimum widths of the board, the number of moves searched, two reserved ints and the
+ * number of records. Every record is then a long, the hash of the position with the player to
+ * move, followed by an int, the cell number of the best move, and an int, its score.
+ */
+public final class OpeningBook {
+
+  //"RVBK", the first four bytes of every book.
+  private static final int MAGIC = 0x5256424B;
+  //version 2 hashes positions with keys that depend on the board size.
+  private static final int VERSION = 2;
+  private static final int HEADER_BYTES = 32;
+  private static final int RECORD_BYTES = 16;
+
+  private final MappedByteBuffer records;
+  private final BoardGeometry geometry;
+  private final int plies;
+  private final int size;
+
+  /**
+   * Constructor method, for a file that has been mapped and checked.
+   *
+   * @param records  is the mapped file.
+   * @param geometry is the geometry of the board of the book.
+   * @param plies    is the number of moves searched.
+   * @param size     is the number of records.
+   */
+  private OpeningBook(MappedByteBuffer records, BoardGeometry geometry, int plies, int size) {
+    this.records = records;
+    this.geometry = geometry;
+    this.plies = plies;
+    this.size = size;
+  }
+
+  /**
+   * Opens a book by mapping its file into memory.
+   *
+   * @param file is the file of the book.
+   * @return the book.
+   * @throws IOException if the file cannot be read, or is not a book.
+   */
+  public static OpeningBook open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long length = channel.size();
+      if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      //the mapping stays valid after the channel is closed.
+      MappedByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+      int size = records.getInt(28);
+      if (records.getInt(0) != MAGIC || records.getInt(4) != VERSION
+          || length != HEADER_BYTES + (long) size * RECORD_BYTES) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      BoardGeometry geometry;
+      try {
+        geometry = BoardGeometry.of(records.getInt(8), records.getInt(12));
+      } catch (IllegalArgumentException e) {
+        throw new IOException("Not an opening book: " + file);
+      }
+      return new OpeningBook(records, geometry, records.getInt(16), size);
+    }
+  }
+
+  /**
+   * Searches every position reachable in the first moves of a game, and writes the best move of
+   * each to a book.
+   *
+   * @param maxWidth is the maximum width of the board.
+   * @param minWidth is the minimum width of the board.
+   * @param plies    is the number of moves from the start of the game to search the positions of.
+   * @param strategy is the strategy that chooses the best move of each position, and whose weight
+   *                 for the move is its score.
+   * @param file     is the file to write the book to.
+   * @return the number of positions in the book.
+   * @throws IllegalArgumentException if the board size is invalid or the number of moves is
+   *                                  negative.
+   * @throws IOException              if the book cannot be written.
+   */
+  public static int build(int maxWidth, int minWidth, int plies, ReversiStrategy strategy,
+      Path file) throws IOException {
+    if (plies < 0) {
+      throw new IllegalArgumentException("Number of moves cannot be negative");
+    }
+    ReversiModel start = new BasicReversi(maxWidth, minWidth);
+    start.startGame(new BasicPlayer(start, "X"), new BasicPlayer(start, "O"), start.getBoard());
+    BoardGeometry geometry = BoardGeometry.of(maxWidth, minWidth);
+
+    //each ply of positions is found from the one before, and a position reached by more than one
+    //order of moves is searched once.
+    Map<Long, long[]> book = new TreeMap<>();
+    Set<Long> seen = new HashSet<>();
+    List<ReversiModel> positions = List.of(start);
+    seen.add(start.positionHash());
+    for (int ply = 0; ply < plies && !positions.isEmpty(); ply++) {
+      List<ReversiModel> next = new ArrayList<>();
+      for (ReversiModel position : positions) {
+        Player mover = position.getTurn();
+        List<Coord> moves = position.legalMoves(mover);
+        if (moves.isEmpty()) {
+          continue;
+        }
+        ReversiStrategy searched = strategy.makeCopy();
+        Optional<Coord> best = searched.chooseMove(position, mover);
+        if (best.isPresent()) {
+          book.put(position.positionHash(), new long[] {
+              geometry.cellIndex(best.get().row, best.get().col),
+              searched.getMoveWeight(best.get())});
+        }
+        for (Coord move : moves) {
+          ReversiModel child = position.makeCopy();
+          child.makeMove(mover, move);
+          if (!child.isGameOver() && !child.hasLegalMove(child.getTurn())) {
+            child.passTurn(child.getTurn());
+          }
+          if (!child.isGameOver() && seen.add(child.positionHash())) {
+            next.add(child);
+          }
+        }
+      }
+      positions = next;
+    }
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+        Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(maxWidth);
+      out.writeInt(minWidth);
+      out.writeInt(plies);
+      out.writeInt(0);
+      out.writeInt(0);
+      out.writeInt(book.size());
+      for (Map.Entry<Long, long[]> entry : book.entrySet()) {
+        out.writeLong(entry.getKey());
+        out.writeInt((int) entry.getValue()[0]);
+        out.writeInt((int) entry.getValue()[1]);
+      }
+    }
+    return book.size();
+  }
+
+  /**
+   * Looks up the best move of a position.
+   *
+   * @param model   is the game.
+   * @param forWhom is the player to move.
+   * @return the best move, or empty if the position is not in the book, the board is of another
+   *         size, or it is not the player's turn.
+   */
+  public Optional<Coord> lookup(ReversiModel model, Player forWhom) {
+    int index = this.indexOf(model, forWhom);
+    if (index < 0) {
+      return Optional.empty();
+    }
+    int cell = this.records.getInt(HEADER_BYTES + index * RECORD_BYTES + 8);
+    Coord move = new Coord(this.geometry.cellRow(cell), this.geometry.cellCol(cell));
+    //a different position with the same hash is not worth playing an illegal move for.
+    return model.isLegalMove(move, forWhom) ? Optional.of(move) : Optional.empty();
+  }
+
+  /**
+   * Gets the score of the best move of a position, as given by the strategy that built the book.
+   *
+   * @param model   is the game.
+   * @param forWhom is the player to move.
+   * @return the score, or empty if the position is not in the book.
+   */
+  public Optional<Integer> scoreOf(ReversiModel model, Player forWhom) {
+    int index = this.indexOf(model, forWhom);
+    if (index < 0) {
+      return Optional.empty();
+    }
+    return Optional.of(this.records.getInt(HEADER_BYTES + index * RECORD_BYTES + 12));
+  }
+
+  /**
+   * Gets the number of positions in the book.
+   *
+   * @return the number of positions.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets the number of moves from the start of the game that the book covers.
+   *
+   * @return the number of moves.
+   */
+  public int getPlies() {
+    return this.plies;
+  }
+
+  /**
+   * Gets the geometry of the board of the book.
+   *
+   * @return the geometry.
+   */
+  public BoardGeometry getGeometry() {
+    return this.geometry;
+  }
+
+  /**
+   * Finds the record of a position by binary search. Only absolute reads are made on the mapped
+   * file, so any number of threads can search it at once.
+   *
+   * @param model   is the game.
+   * @param forWhom is the player to move.
+   * @return the index of the record, or -1 if there is none.
+   */
+  private int indexOf(ReversiModel model, Player forWhom) {
+    if (model.getTurn() != forWhom || BoardGeometry.of(model.getBoardView()) != this.geometry) {
+      return -1;
+    }
+    long key = model.positionHash();
+    int low = 0;
+    int high = this.size - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      long found = this.records.getLong(HEADER_BYTES + middle * RECORD_BYTES);
+      if (found < key) {
+        low = middle + 1;
+      } else if (found > key) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,158 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thinks on the opponent's time. Once a robot has chosen its move, a ponderer predicts the reply
+ * of the opponent on a thread of its own, and then searches the robot's next move as if the
+ * opponent had made that reply, until the opponent actually moves.
+ *
+ * <p>If the opponent makes the predicted reply, it is a ponder hit: the strategy that pondered
+ * holds on to what it found, in its transposition table or its tree, and should choose the next
+ * move itself. Otherwise the work is thrown away. Either way, stopping the ponderer takes at most
+ * one slice of search, since the strategy is only ever given a slice of time at once.
+ */
+public class Ponderer {
+
+  /**
+   * The time the strategy is given at once while pondering, in milliseconds.
+   */
+  public static final long SLICE_MILLIS = 50;
+
+  private final AnytimeStrategy strategy;
+  private final ReversiModel game;
+  private final Player forWhom;
+  private final Thread thread;
+
+  private volatile boolean stopped;
+  private volatile Coord predictedMove;
+  private volatile long predictedHash;
+  private volatile boolean predicted;
+  //counted down once the reply is predicted, or the ponderer finds there is none to predict.
+  private final CountDownLatch predicting = new CountDownLatch(1);
+
+  /**
+   * Constructor method. The ponderer does not start until {@link #start()} is called.
+   *
+   * @param strategy is the strategy to ponder with, which the ponderer has to itself until it is
+   *                 stopped.
+   * @param game     is the game just after the robot's move, which is copied.
+   * @param forWhom  is the robot.
+   * @throws IllegalArgumentException if any args are null.
+   */
+  public Ponderer(AnytimeStrategy strategy, ReversiModel game, Player forWhom) {
+    Objects.requireNonNull(strategy);
+    Objects.requireNonNull(game);
+    Objects.requireNonNull(forWhom);
+    this.strategy = strategy;
+    this.game = game.makeCopy();
+    this.forWhom = forWhom;
+    this.thread = new Thread(this::ponder, "ponder-" + forWhom);
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Starts pondering on a thread of its own.
+   */
+  public void start() {
+    this.thread.start();
+  }
+
+  /**
+   * Stops pondering, and waits for the search in progress to finish its slice.
+   *
+   * @param actual is the game once the opponent has moved.
+   * @return true if the opponent made the predicted reply, false otherwise.
+   */
+  public boolean stop(ReversiModel actual) {
+    this.stopped = true;
+    try {
+      this.thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+    return this.predicted && actual.positionHash() == this.predictedHash;
+  }
+
+  /**
+   * Gets the strategy that pondered, which should only be used once the ponderer is stopped.
+   *
+   * @return the strategy.
+   */
+  public AnytimeStrategy getStrategy() {
+    return this.strategy;
+  }
+
+  /**
+   * Gets the reply of the opponent that the ponderer predicted.
+   *
+   * @return the predicted reply, or empty if the opponent is predicted to pass or nothing has been
+   *         predicted yet.
+   */
+  public Optional<Coord> getPredictedMove() {
+    return Optional.ofNullable(this.predictedMove);
+  }
+
+  /**
+   * Waits for the ponderer to predict the reply of the opponent.
+   *
+   * @param timeout is the longest time to wait.
+   * @return true if the reply has been predicted, or false if there is no reply to predict or the
+   *         time ran out.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  public boolean awaitPrediction(Duration timeout) throws InterruptedException {
+    this.predicting.await(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    return this.predicted;
+  }
+
+  /**
+   * Predicts the reply of the opponent, and searches the position it leads to until stopped.
+   */
+  private void ponder() {
+    try {
+      this.predictAndSearch();
+    } finally {
+      this.predicting.countDown();
+    }
+  }
+
+  /**
+   * Predicts the reply of the opponent, then searches the position it leads to until stopped.
+   */
+  private void predictAndSearch() {
+    if (this.game.isGameOver() || this.game.getTurn().equals(this.forWhom)) {
+      return;
+    }
+    Player opponent = this.game.getTurn();
+    Duration slice = Duration.ofMillis(SLICE_MILLIS);
+    Optional<Coord> reply = this.strategy.chooseMove(this.game, opponent, slice);
+    if (reply.isPresent()) {
+      this.game.makeMove(opponent, reply.get());
+    } else {
+      this.game.passTurn(opponent);
+    }
+    this.predictedMove = reply.orElse(null);
+    this.predictedHash = this.game.positionHash();
+    this.predicted = true;
+    this.predicting.countDown();
+
+    while (!this.stopped && !this.game.isGameOver()
+        && this.game.getTurn().equals(this.forWhom)) {
+      long start = System.nanoTime();
+      this.strategy.chooseMove(this.game, this.forWhom, slice);
+      //a search that ends well within its slice has nothing left to look at.
+      if (System.nanoTime() - start < slice.toNanos() / 2) {
+        return;
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.BoardGeometry;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.SearchableReversiModel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Represents how much each hexagon of a board is worth to hold, by where it lies. Every hexagon
+ * is one of four kinds: a corner, which can never be flipped; a hexagon next to a corner, which
+ * tends to give the corner away; any other hexagon on the edge of the board; or a hexagon in the
+ * interior. The kinds and weights of a hexagonal board are worked out once from its geometry, and
+ * every strategy playing on a board of that size shares them, so looking one up is a single array
+ * read. A board of any other shape has a geometry of its own, so its table is worked out afresh.
+ */
+public final class PositionalWeights {
+
+  /**
+   * The kind of a corner hexagon.
+   */
+  public static final int CORNER = 0;
+
+  /**
+   * The kind of a hexagon next to a corner.
+   */
+  public static final int NEXT_TO_CORNER = 1;
+
+  /**
+   * The kind of a hexagon on the edge of the board that is neither a corner nor next to one.
+   */
+  public static final int EDGE = 2;
+
+  /**
+   * The kind of a hexagon that is not on the edge of the board.
+   */
+  public static final int INTERIOR = 3;
+
+  //the weight of each kind of hexagon, in the order of the kinds.
+  private static final int[] WEIGHT_OF_KIND = {20, -8, 4, 1};
+
+  //one table per shared geometry of a hexagonal board, which are kept for good as they are.
+  private static final Map<BoardGeometry, PositionalWeights> CACHE = new ConcurrentHashMap<>();
+
+  private final BoardGeometry geometry;
+  private final byte[] kinds;
+  private final int[] weights;
+
+  /**
+   * Works out the kind and weight of every hexagon of a board.
+   *
+   * @param geometry is the geometry of the board.
+   */
+  private PositionalWeights(BoardGeometry geometry) {
+    this.geometry = geometry;
+    int cellCount = geometry.cellCount();
+    this.kinds = new byte[cellCount];
+    for (int cell = 0; cell < cellCount; cell++) {
+      this.kinds[cell] = INTERIOR;
+      for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+        if (geometry.rayStart(direction, cell) == geometry.rayEnd(direction, cell)) {
+          this.kinds[cell] = EDGE;
+        }
+      }
+    }
+
+    //the corners are the ends of the top, middle and bottom rows, as in getCorners.
+    int lastRow = geometry.rowCount() - 1;
+    int[] cornerRows = {0, lastRow / 2, lastRow};
+    for (int row : cornerRows) {
+      int[] cornerCols = {0, geometry.rowLength(row) - 1};
+      for (int col : cornerCols) {
+        int corner = geometry.cellIndex(row, col);
+        for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+          int start = geometry.rayStart(direction, corner);
+          if (start < geometry.rayEnd(direction, corner)) {
+            this.kinds[geometry.rayCell(start)] = NEXT_TO_CORNER;
+          }
+        }
+      }
+    }
+    for (int row : cornerRows) {
+      this.kinds[geometry.cellIndex(row, 0)] = CORNER;
+      this.kinds[geometry.cellIndex(row, geometry.rowLength(row) - 1)] = CORNER;
+    }
+
+    this.weights = new int[cellCount];
+    for (int cell = 0; cell < cellCount; cell++) {
+      this.weights[cell] = WEIGHT_OF_KIND[this.kinds[cell]];
+    }
+  }
+
+  /**
+   * Gets the table of a board.
+   *
+   * @param geometry is the geometry of the board.
+   * @return the shared table for boards of that geometry, or a new table if the board is not
+   *         hexagonal.
+   */
+  public static PositionalWeights of(BoardGeometry geometry) {
+    if (!isShared(geometry)) {
+      return new PositionalWeights(geometry);
+    }
+    return CACHE.computeIfAbsent(geometry, PositionalWeights::new);
+  }
+
+  /**
+   * Determines if a geometry is the one shared by every hexagonal board of its size.
+   *
+   * @param geometry is the geometry.
+   * @return true if the geometry is shared, false if it belongs to a board of another shape.
+   */
+  private static boolean isShared(BoardGeometry geometry) {
+    int rows = geometry.rowCount();
+    if (rows == 0) {
+      return false;
+    }
+    int minWidth = geometry.rowLength(0);
+    int maxWidth = geometry.rowLength(rows / 2);
+    if (maxWidth - minWidth < 2 || minWidth < 1) {
+      return false;
+    }
+    return BoardGeometry.of(maxWidth, minWidth) == geometry;
+  }
+
+  /**
+   * Gets the table of the board of a game.
+   *
+   * @param model is the game.
+   * @return the shared table for boards of that size.
+   */
+  public static PositionalWeights of(ReversiModel model) {
+    if (model instanceof SearchableReversiModel) {
+      return PositionalWeights.of(((SearchableReversiModel) model).getGeometry());
+    }
+    return PositionalWeights.of(BoardGeometry.of(model.getBoardView()));
+  }
+
+  /**
+   * Gets the geometry of the board of this table.
+   *
+   * @return the geometry.
+   */
+  public BoardGeometry getGeometry() {
+    return this.geometry;
+  }
+
+  /**
+   * Gets the kind of a hexagon.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @return CORNER, NEXT_TO_CORNER, EDGE or INTERIOR.
+   */
+  public int kindOf(int cell) {
+    return this.kinds[cell];
+  }
+
+  /**
+   * Gets the kind of a hexagon.
+   *
+   * @param coords is the coordinates of the hexagon.
+   * @return CORNER, NEXT_TO_CORNER, EDGE or INTERIOR.
+   */
+  public int kindOf(Coord coords) {
+    return this.kinds[this.geometry.cellIndex(coords.getRow(), coords.getCol())];
+  }
+
+  /**
+   * Gets how much a hexagon is worth to hold.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @return the weight of the hexagon.
+   */
+  public int weightOf(int cell) {
+    return this.weights[cell];
+  }
+
+  /**
+   * Gets how much a hexagon is worth to hold.
+   *
+   * @param coords is the coordinates of the hexagon.
+   * @return the weight of the hexagon.
+   */
+  public int weightOf(Coord coords) {
+    return this.weights[this.geometry.cellIndex(coords.getRow(), coords.getCol())];
+  }
+}
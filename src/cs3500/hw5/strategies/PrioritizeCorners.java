@@ -23,15 +23,17 @@ public class PrioritizeCorners extends BasicReversiStrategy {
   }
 
   @Override
-  public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
+  public Optional<Coord> chooseMove(ReversiModel game, Player forWhom) {
+    ReversiModel model = super.forkForSearch(game);
     List<Coord> moves = super.getAllPossibleMoves(model, forWhom);
     List<Coord> movesInCorners = new ArrayList<>();
-    List<Coord> corners = super.getCorners(model.getBoard());
+    PositionalWeights positions = PositionalWeights.of(model);
     for (Coord move : moves) {
-      if (corners.contains(move)) {
+      if (positions.kindOf(move) == PositionalWeights.CORNER) {
         movesInCorners.add(move);
-        super.weights.put(move, super.getScoreGainedWithMove(model, forWhom, move) + 4);
-        super.updateHighestWeight(super.getScoreGainedWithMove(model, forWhom, move) + 4);
+        int weight = super.getScoreGainedWithMove(model, forWhom, move) + 4;
+        super.weights.put(move, weight);
+        super.updateHighestWeight(weight);
       }
     }
 
@@ -0,0 +1,20 @@
+package cs3500.hw5.strategies;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holds the threads that every search with more than one thread runs on, whether alpha-beta or
+ * Monte Carlo, so that searches running at once, or a ponderer next to a search, share the
+ * processors instead of each starting threads of their own.
+ */
+final class SearchThreads {
+
+  /**
+   * The pool, with one thread per processor. Its threads are daemons and are only started once a
+   * search needs them.
+   */
+  static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  private SearchThreads() {
+  }
+}
@@ -0,0 +1,261 @@
+package cs3500.hw5.strategies;
+
+import cs3500.hw5.model.BoardGeometry;
+import cs3500.hw5.model.Hexagon;
+import cs3500.hw5.model.UndoRecord;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Works out which discs on a board are stable, meaning no sequence of moves can ever flip them.
+ *
+ * <p>A move flips a disc along a line only if the line has an empty hexagon on one side of the
+ * disc, and the run of discs from that empty hexagon through the disc ends, at the next empty
+ * hexagon or the edge of the board, with a disc of the other color. So a disc is stable when, on
+ * each of the three lines through it, either the line is full, or one side is full up to the edge
+ * and the disc at that edge is the disc itself or a stable disc of the same color. Corners are
+ * always stable, and stability spreads from them and from full lines.
+ *
+ * <p>Discs only ever become stable, so the analyzer is kept up to date move by move: after a
+ * move, only the discs on the lines of the hexagons that changed, and then the lines of discs that
+ * became stable, are looked at again. A move can be taken back, which a search needs, by undoing
+ * exactly the discs it made stable.
+ */
+public final class StabilityAnalyzer {
+
+  //the two directions of each of the three lines through a hexagon.
+  private static final int[][] AXES = {
+      {BoardGeometry.BOTTOM_RIGHT, BoardGeometry.TOP_LEFT},
+      {BoardGeometry.TOP_RIGHT, BoardGeometry.BOTTOM_LEFT},
+      {BoardGeometry.LEFT, BoardGeometry.RIGHT}};
+
+  private static final byte EMPTY = 0;
+  private static final byte X = 1;
+  private static final byte O = 2;
+
+  private final BoardGeometry geometry;
+
+  //the color of each cell, kept in step with the game by update and undo.
+  private final byte[] cells;
+  private final boolean[] stable;
+  private final int[] stableCounts = new int[3];
+
+  //the cells that became stable, in order, so that the latest can be undone.
+  private final int[] history;
+  private int historySize;
+
+  //the cells waiting to be looked at again.
+  private final int[] queue;
+  private final boolean[] queued;
+
+  /**
+   * Constructor method, for an empty board.
+   *
+   * @param geometry is the geometry of the board.
+   */
+  public StabilityAnalyzer(BoardGeometry geometry) {
+    this.geometry = geometry;
+    int cellCount = geometry.cellCount();
+    this.cells = new byte[cellCount];
+    this.stable = new boolean[cellCount];
+    this.history = new int[cellCount];
+    this.queue = new int[cellCount];
+    this.queued = new boolean[cellCount];
+  }
+
+  /**
+   * Works out every stable disc of a board from scratch.
+   *
+   * @param board is the board, as given by getBoardView, which must have the geometry of this
+   *              analyzer.
+   * @throws IllegalArgumentException if the board has another shape.
+   */
+  public void reset(List<List<Hexagon>> board) {
+    if (BoardGeometry.of(board) != this.geometry) {
+      throw new IllegalArgumentException("Board does not match the geometry");
+    }
+    Arrays.fill(this.stable, false);
+    Arrays.fill(this.stableCounts, 0);
+    this.historySize = 0;
+    int size = 0;
+    for (int cell = 0; cell < this.cells.length; cell++) {
+      Hexagon hexagon = board.get(this.geometry.cellRow(cell)).get(this.geometry.cellCol(cell));
+      this.cells[cell] = hexagon == Hexagon.X ? X : hexagon == Hexagon.O ? O : EMPTY;
+      if (this.cells[cell] != EMPTY) {
+        this.queue[size] = cell;
+        this.queued[cell] = true;
+        size++;
+      }
+    }
+    this.settle(size);
+  }
+
+  /**
+   * Brings the analysis up to date after a move, made by the player whose color the flipped discs
+   * now have.
+   *
+   * @param record is the record of the move, as returned by the game.
+   * @return the number of discs the move made stable, to be passed to
+   *         {@link #undo(UndoRecord, int)}.
+   */
+  public int update(UndoRecord record) {
+    if (record.isPass()) {
+      return 0;
+    }
+    int placed = record.getCell();
+    //every legal move flips at least one disc, which had the other player's color.
+    byte color = (byte) (3 - this.cells[record.getFlip(0)]);
+    this.cells[placed] = color;
+    int before = this.historySize;
+    int size = this.enqueueLines(placed, 0);
+    for (int i = 0; i < record.getFlipCount(); i++) {
+      int flipped = record.getFlip(i);
+      this.cells[flipped] = color;
+      size = this.enqueue(flipped, size);
+    }
+    this.settle(size);
+    return this.historySize - before;
+  }
+
+  /**
+   * Takes back a move, and the discs it made stable.
+   *
+   * @param record       is the record of the move.
+   * @param newlyStable is the number returned by {@link #update(UndoRecord)} for the move.
+   */
+  public void undo(UndoRecord record, int newlyStable) {
+    for (int i = 0; i < newlyStable; i++) {
+      this.historySize--;
+      int cell = this.history[this.historySize];
+      this.stable[cell] = false;
+      this.stableCounts[this.cells[cell]]--;
+    }
+    if (record.isPass()) {
+      return;
+    }
+    byte color = this.cells[record.getCell()];
+    for (int i = 0; i < record.getFlipCount(); i++) {
+      this.cells[record.getFlip(i)] = (byte) (3 - color);
+    }
+    this.cells[record.getCell()] = EMPTY;
+  }
+
+  /**
+   * Determines if the disc in a hexagon is stable.
+   *
+   * @param cell is the cell number of the hexagon.
+   * @return true if the hexagon holds a stable disc, false otherwise.
+   */
+  public boolean isStable(int cell) {
+    return this.stable[cell];
+  }
+
+  /**
+   * Gets the number of stable discs of a color.
+   *
+   * @param color is Hexagon.X or Hexagon.O.
+   * @return the number of stable discs of that color.
+   */
+  public int getStableCount(Hexagon color) {
+    return color == Hexagon.X ? this.stableCounts[X] : color == Hexagon.O ? this.stableCounts[O]
+        : 0;
+  }
+
+  /**
+   * Looks at queued cells, and the lines of every cell that becomes stable, until no more discs
+   * become stable.
+   *
+   * @param size is the number of cells in the queue.
+   */
+  private void settle(int size) {
+    while (size > 0) {
+      size--;
+      int cell = this.queue[size];
+      this.queued[cell] = false;
+      if (!this.stable[cell] && this.cells[cell] != EMPTY && this.isStableNow(cell)) {
+        this.stable[cell] = true;
+        this.stableCounts[this.cells[cell]]++;
+        this.history[this.historySize] = cell;
+        this.historySize++;
+        size = this.enqueueLines(cell, size);
+      }
+    }
+  }
+
+  /**
+   * Determines if a disc is stable, given the discs already known to be stable.
+   *
+   * @param cell is the cell of the disc.
+   * @return true if the disc is stable.
+   */
+  private boolean isStableNow(int cell) {
+    byte color = this.cells[cell];
+    for (int[] axis : AXES) {
+      int sideA = this.fullToEdge(axis[0], cell);
+      int sideB = this.fullToEdge(axis[1], cell);
+      if (sideA >= 0 && sideB >= 0) {
+        continue;
+      }
+      //runs from the open side end at the edge of the full side, which must never change color.
+      int end = sideA >= 0 ? sideA : sideB;
+      if (end < 0 || (end != cell && !(this.stable[end] && this.cells[end] == color))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Walks from a cell to the edge of the board in a direction.
+   *
+   * @param direction is the direction.
+   * @param cell      is the cell to start from.
+   * @return the last cell before the edge, or the cell itself if it is on the edge, or -1 if there
+   *         is an empty hexagon on the way.
+   */
+  private int fullToEdge(int direction, int cell) {
+    int last = cell;
+    int end = this.geometry.rayEnd(direction, cell);
+    for (int i = this.geometry.rayStart(direction, cell); i < end; i++) {
+      last = this.geometry.rayCell(i);
+      if (this.cells[last] == EMPTY) {
+        return -1;
+      }
+    }
+    return last;
+  }
+
+  /**
+   * Queues a cell and every disc on the three lines through it that is not yet stable.
+   *
+   * @param cell is the cell.
+   * @param size is the number of cells in the queue.
+   * @return the new number of cells in the queue.
+   */
+  private int enqueueLines(int cell, int size) {
+    size = this.enqueue(cell, size);
+    for (int direction = 0; direction < BoardGeometry.DIRECTIONS; direction++) {
+      int end = this.geometry.rayEnd(direction, cell);
+      for (int i = this.geometry.rayStart(direction, cell); i < end; i++) {
+        size = this.enqueue(this.geometry.rayCell(i), size);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Queues a cell, unless it is already queued, stable or empty.
+   *
+   * @param cell is the cell.
+   * @param size is the number of cells in the queue.
+   * @return the new number of cells in the queue.
+   */
+  private int enqueue(int cell, int size) {
+    if (this.queued[cell] || this.stable[cell] || this.cells[cell] == EMPTY) {
+      return size;
+    }
+    this.queue[size] = cell;
+    this.queued[cell] = true;
+    return size + 1;
+  }
+}
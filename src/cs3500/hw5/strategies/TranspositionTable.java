@@ -0,0 +1,244 @@
+package cs3500.hw5.strategies;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a fixed-size table of positions that have already been searched, keyed by
+ * {@link cs3500.hw5.model.ReversiModel#positionHash()}. Each entry records the depth a position
+ * was searched to, its score, whether that score is exact or only a bound, and the best move
+ * found, so a search that reaches the same position again can reuse the result.
+ *
+ * <p>The table is a single primitive array of longs, two per entry, and can be shared by any
+ * number of searches and threads without locks. Each entry is stored as its data and its key
+ * XORed with its data; an entry that two threads wrote at once no longer matches its key, and
+ * reads as a miss rather than as a wrong result.
+ *
+ * <p>Entries are kept in buckets of two. The first slot keeps the deepest search of a position
+ * that maps to the bucket, and the second slot always takes the most recent one.
+ */
+public final class TranspositionTable {
+
+  /**
+   * The score of the entry is the exact score of the position.
+   */
+  public static final int EXACT = 0;
+
+  /**
+   * The score of the entry is at least the score of the position.
+   */
+  public static final int LOWER_BOUND = 1;
+
+  /**
+   * The score of the entry is at most the score of the position.
+   */
+  public static final int UPPER_BOUND = 2;
+
+  /**
+   * The size of the shared table, in megabytes.
+   */
+  public static final int SHARED_MEGABYTES = 16;
+
+  //layout of the data of an entry: the score in the low 32 bits, then the depth, the bound, and
+  //the best move plus one. The top bit is set in every entry, so no entry is ever 0.
+  private static final int DEPTH_SHIFT = 32;
+  private static final int BOUND_SHIFT = 40;
+  private static final int MOVE_SHIFT = 42;
+  private static final long VALID = 1L << 63;
+
+  private static final int BYTES_PER_ENTRY = 16;
+
+  private final AtomicLongArray entries;
+  private final int bucketMask;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder collisions = new LongAdder();
+
+  /**
+   * Creates an empty table that takes up at most the given amount of memory. The number of
+   * entries is rounded down to a power of two.
+   *
+   * @param megabytes is the size of the table, in megabytes.
+   * @throws IllegalArgumentException if the size is not positive.
+   */
+  public TranspositionTable(int megabytes) {
+    if (megabytes < 1) {
+      throw new IllegalArgumentException("Table size must be positive");
+    }
+    long buckets = Long.highestOneBit(((long) megabytes << 20) / (2 * BYTES_PER_ENTRY));
+    //an AtomicLongArray holds at most Integer.MAX_VALUE longs.
+    buckets = Math.min(buckets, 1 << 28);
+    this.entries = new AtomicLongArray((int) buckets * 4);
+    this.bucketMask = (int) buckets - 1;
+  }
+
+  /**
+   * Gets the table shared by every strategy that does not ask for a table of its own.
+   *
+   * @return the shared table.
+   */
+  public static TranspositionTable shared() {
+    return SharedTable.INSTANCE;
+  }
+
+  /**
+   * Looks up a position.
+   *
+   * @param key is the hash of the position.
+   * @return the entry of the position, to be read with the static getters of this class, or 0 if
+   *         the table has no entry for the position.
+   */
+  public long probe(long key) {
+    int index = this.indexOf(key);
+    boolean occupied = false;
+    for (int slot = index; slot < index + 4; slot += 2) {
+      long data = this.entries.getOpaque(slot + 1);
+      if (data == 0) {
+        continue;
+      }
+      if ((this.entries.getOpaque(slot) ^ data) == key) {
+        this.hits.increment();
+        return data;
+      }
+      occupied = true;
+    }
+    this.misses.increment();
+    if (occupied) {
+      this.collisions.increment();
+    }
+    return 0;
+  }
+
+  /**
+   * Stores the result of searching a position. The entry replaces the one in the first slot of
+   * its bucket if it is for the same position or searched at least as deep, and the one in the
+   * second slot otherwise.
+   *
+   * @param key   is the hash of the position.
+   * @param depth is the depth the position was searched to, from 0 to 255.
+   * @param score is the score of the position for the player to move.
+   * @param bound is EXACT, LOWER_BOUND or UPPER_BOUND.
+   * @param move  is the cell of the best move, or -1 if there was none.
+   */
+  public void store(long key, int depth, int score, int bound, int move) {
+    long data = VALID
+        | ((long) (move + 1) << MOVE_SHIFT)
+        | ((long) bound << BOUND_SHIFT)
+        | ((long) depth << DEPTH_SHIFT)
+        | (score & 0xFFFFFFFFL);
+    int slot = this.indexOf(key);
+    long kept = this.entries.getOpaque(slot + 1);
+    if (kept != 0 && (this.entries.getOpaque(slot) ^ kept) != key && depth < depthOf(kept)) {
+      slot += 2;
+    }
+    this.entries.setOpaque(slot, key ^ data);
+    this.entries.setOpaque(slot + 1, data);
+  }
+
+  /**
+   * Empties the table and resets its counters.
+   */
+  public void clear() {
+    for (int i = 0; i < this.entries.length(); i++) {
+      this.entries.setOpaque(i, 0);
+    }
+    this.hits.reset();
+    this.misses.reset();
+    this.collisions.reset();
+  }
+
+  /**
+   * Gets the number of entries the table can hold.
+   *
+   * @return the capacity of the table.
+   */
+  public int capacity() {
+    return this.entries.length() / 2;
+  }
+
+  /**
+   * Gets the number of lookups that found their position.
+   *
+   * @return the number of hits.
+   */
+  public long getHits() {
+    return this.hits.sum();
+  }
+
+  /**
+   * Gets the number of lookups that did not find their position.
+   *
+   * @return the number of misses.
+   */
+  public long getMisses() {
+    return this.misses.sum();
+  }
+
+  /**
+   * Gets the number of misses where the bucket of the position was taken by other positions.
+   *
+   * @return the number of collisions.
+   */
+  public long getCollisions() {
+    return this.collisions.sum();
+  }
+
+  /**
+   * Gets the score of an entry.
+   *
+   * @param entry is an entry returned by {@link #probe(long)}.
+   * @return the score of the entry.
+   */
+  public static int scoreOf(long entry) {
+    return (int) entry;
+  }
+
+  /**
+   * Gets the depth an entry was searched to.
+   *
+   * @param entry is an entry returned by {@link #probe(long)}.
+   * @return the depth of the entry.
+   */
+  public static int depthOf(long entry) {
+    return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+  }
+
+  /**
+   * Gets what kind of score an entry has.
+   *
+   * @param entry is an entry returned by {@link #probe(long)}.
+   * @return EXACT, LOWER_BOUND or UPPER_BOUND.
+   */
+  public static int boundOf(long entry) {
+    return (int) (entry >>> BOUND_SHIFT) & 0x3;
+  }
+
+  /**
+   * Gets the best move of an entry.
+   *
+   * @param entry is an entry returned by {@link #probe(long)}.
+   * @return the cell of the best move, or -1 if there was none.
+   */
+  public static int moveOf(long entry) {
+    return ((int) (entry >>> MOVE_SHIFT) & 0xFFFF) - 1;
+  }
+
+  /**
+   * Gets the index of the first long of the bucket of a position.
+   *
+   * @param key is the hash of the position.
+   * @return the index of the bucket in the array.
+   */
+  private int indexOf(long key) {
+    //the low bits of a Zobrist hash are as random as any others.
+    return ((int) key & this.bucketMask) << 2;
+  }
+
+  /**
+   * Holds the shared table, which is only created the first time it is used.
+   */
+  private static final class SharedTable {
+    private static final TranspositionTable INSTANCE = new TranspositionTable(SHARED_MEGABYTES);
+  }
+}
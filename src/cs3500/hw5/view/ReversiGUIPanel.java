@@ -2,6 +2,7 @@ package cs3500.hw5.view;
 
 import cs3500.hw5.model.BasicPlayer;
 import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.BoardGeometry;
 import cs3500.hw5.model.Coord;
 
 import cs3500.hw5.model.Player;
@@ -10,6 +11,7 @@ import cs3500.hw5.strategies.AnyRandomIllegalMove;
 import cs3500.hw5.strategies.AnyRandomLegalMove;
 import cs3500.hw5.strategies.CaptureMostPieces;
 import cs3500.hw5.strategies.ReversiStrategy;
+import cs3500.hw5.strategies.StabilityAnalyzer;
 import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
@@ -32,6 +34,8 @@ import cs3500.hw5.model.ReadOnlyReversiModel;
 /**
  * The main class of the panel, which displays the components of the game. This panel is responsible
  * for handling mouse clicks within the panel.
+ * The panel draws, and works out hints from, the latest copy of the board it was given, never the
+ * game itself, since the game may be changing on another thread while the panel paints.
  */
 public class ReversiGUIPanel extends JPanel {
 
@@ -39,8 +43,11 @@ public class ReversiGUIPanel extends JPanel {
   boolean bestHint;
   boolean okHint;
   boolean illegalHint;
+  boolean showStability;
 
   ReadOnlyReversiModel model;
+  //the copy of the board to draw, only used on the Swing event thread.
+  private List<List<Hexagon>> board;
   private final Point2D ORIGIN = new Point2D.Double(getWidth() / 2.0, getHeight() / 2.0);
   private final Point2D center = new Point2D.Double();
   private Graphics2D g2D;
@@ -56,6 +63,7 @@ public class ReversiGUIPanel extends JPanel {
    */
   public ReversiGUIPanel(ReadOnlyReversiModel readableModel) {
     model = readableModel;
+    board = readableModel.getBoard();
     color = Color.white;
     MouseEventsListener mouseListener = new MouseEventsListener();
     this.addMouseListener(mouseListener);
@@ -70,6 +78,7 @@ public class ReversiGUIPanel extends JPanel {
    */
   public ReversiGUIPanel(ReadOnlyReversiModel readableModel, ReversiGUIView parent) {
     model = readableModel;
+    board = readableModel.getBoard();
     color = Color.white;
     this.parent = parent;
     MouseEventsListener mouseListener = new MouseEventsListener();
@@ -99,7 +108,6 @@ public class ReversiGUIPanel extends JPanel {
 
     int[] cellPerRow = {6, 7, 8, 9, 10, 11, 10, 9, 8, 7, 6};
     int numRows = cellPerRow.length;
-    List<List<Hexagon>> board = model.getBoard();
 
     // Calculate total height of the hex grid
     int boardHeight = numRows * height;
@@ -119,6 +127,13 @@ public class ReversiGUIPanel extends JPanel {
     if (this.bestHint || this.okHint || this.illegalHint) {
       coord = strat.chooseMove(generateTempModel(forWhom), forWhom).get();
     }
+    BoardGeometry geometry = null;
+    StabilityAnalyzer stability = null;
+    if (this.showStability) {
+      geometry = BoardGeometry.of(board);
+      stability = new StabilityAnalyzer(geometry);
+      stability.reset(board);
+    }
     for (int row = 0; row < numRows; row++) {
       int numHexagons = cellPerRow[row];
 
@@ -176,7 +191,7 @@ public class ReversiGUIPanel extends JPanel {
         }
 
         //Place player circles
-        String thisHex = model.getCellContents(new Coord(row, col)).toString();
+        String thisHex = board.get(row).get(col).toString();
         if (!thisHex.equals(Hexagon.EMPTY.toString())) {
           PlayerCircle circle = new PlayerCircle(11);
           if (thisHex.equals("X")) {
@@ -185,6 +200,12 @@ public class ReversiGUIPanel extends JPanel {
             g2D.setColor(Color.WHITE);
           }
           g2D.fill(circle.createCircle(circle, new Coord(0, 0)));
+          //stable discs are marked with a red dot
+          if (stability != null && stability.isStable(geometry.cellIndex(row, col))) {
+            PlayerCircle dot = new PlayerCircle(4);
+            g2D.setColor(Color.RED);
+            g2D.fill(dot.createCircle(dot, new Coord(0, 0)));
+          }
         }
         // Reset the transformations for the next hexagon
         g2D.translate(-x, -yOffset);
@@ -234,17 +255,29 @@ public class ReversiGUIPanel extends JPanel {
     this.repaint();
   }
 
+  /**
+   * Gives the panel a new copy of the board to draw. Must be called on the Swing event thread.
+   * @param board is the copy of the board, which the panel keeps and does not change.
+   */
+  void setBoard(List<List<Hexagon>> board) {
+    this.board = board;
+  }
+
+  /**
+   * Turns the marking of stable discs, which can never be flipped again, on or off.
+   */
+  public void toggleStability() {
+    showStability = !showStability;
+    this.repaint();
+  }
+
   private ReversiModel generateTempModel(Player forWhom) {
     ReversiModel tempModel = new BasicReversi();
     Player tempPlayer1;
     Player tempPlayer2;
     List<List<Hexagon>> tempBoard = new ArrayList<>();
-    List<List<Hexagon>> modelBoard = model.getBoard();
-    for (int row = 0; row < modelBoard.size(); row++) {
-      tempBoard.add(new ArrayList<>());
-      for (int col = 0; col < modelBoard.get(row).size(); col++) {
-        tempBoard.get(row).add(model.getCellContents(new Coord(row, col)));
-      }
+    for (List<Hexagon> row : board) {
+      tempBoard.add(new ArrayList<>(row));
     }
 
     if (forWhom.toString().equals("X")) {
@@ -392,9 +425,12 @@ public class ReversiGUIPanel extends JPanel {
 
       int row = (int) ((yCoord) / height);
 
-      List<List<Hexagon>> modelBoard = ReversiGUIPanel.this.model.getBoard();
-      int numHexInRow = modelBoard.get(row).size();
-      int maxWidth = modelBoard.get(modelBoard.size() / 2).size();
+      List<List<Hexagon>> board = ReversiGUIPanel.this.board;
+      if (row < 0 || row >= board.size()) {
+        throw new IllegalArgumentException("Row is invalid");
+      }
+      int numHexInRow = board.get(row).size();
+      int maxWidth = board.get(board.size() / 2).size();
 
       int col = (int) ((xCoord - ((maxWidth - numHexInRow) * size)) / width);
 
@@ -1,6 +1,7 @@
 package cs3500.hw5.view;
 
 import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Hexagon;
 
 import cs3500.hw5.model.Player;
 import java.awt.Color;
@@ -11,6 +12,7 @@ import java.awt.BorderLayout;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.List;
 import java.util.function.Consumer;
 
 import javax.swing.JFrame;
@@ -20,11 +22,21 @@ import javax.swing.JButton;
 import javax.swing.JScrollPane;
 import javax.swing.JOptionPane;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import javax.swing.WindowConstants;
 import cs3500.hw5.model.ReadOnlyReversiModel;
 
 /**
  * Swing-based graphical user interface for a game of Reversi.
+ * The game may tell the view about itself from a thread other than the Swing event thread, such as
+ * the thread the game is played on, so the view handles what it is told on the event thread, and
+ * never holds up the game while it redraws or waits for a dialog to be closed.
+ *
+ * <p>The view never reads the game on the event thread. {@link #refresh()} copies the board on the
+ * thread that calls it, and hands the copy to the panel, which draws and works out hints from the
+ * latest copy it was given. So refresh must be called on the thread the game is played on, or
+ * while the game is not changing, as the controllers do when the game tells them its board was
+ * updated.
  */
 public class ReversiGUIView extends JFrame implements ReversiGUI {
 
@@ -192,7 +204,8 @@ public class ReversiGUIView extends JFrame implements ReversiGUI {
    */
   @Override
   public void showError(String error) {
-    JOptionPane.showMessageDialog(this, error, "Error", JOptionPane.ERROR_MESSAGE);
+    onEventThread(() ->
+        JOptionPane.showMessageDialog(this, error, "Error", JOptionPane.ERROR_MESSAGE));
   }
 
 
@@ -201,10 +214,14 @@ public class ReversiGUIView extends JFrame implements ReversiGUI {
    */
   @Override
   public void refresh() {
-    guiPanel.revalidate();
-    guiPanel.repaint();
-    this.revalidate();
-    this.repaint();
+    List<List<Hexagon>> board = readbleModel.getBoard();
+    onEventThread(() -> {
+      guiPanel.setBoard(board);
+      guiPanel.revalidate();
+      guiPanel.repaint();
+      this.revalidate();
+      this.repaint();
+    });
   }
 
   /**
@@ -223,12 +240,17 @@ public class ReversiGUIView extends JFrame implements ReversiGUI {
 
   @Override
   public void notifyPlayerChanged(Player currentPlayer) {
-    JOptionPane.showMessageDialog(this, "It is now your turn, player " + currentPlayer,
-        "Player's Turn", JOptionPane.INFORMATION_MESSAGE);
+    onEventThread(() ->
+        JOptionPane.showMessageDialog(this, "It is now your turn, player " + currentPlayer,
+            "Player's Turn", JOptionPane.INFORMATION_MESSAGE));
   }
 
   @Override
   public void notifyGameOver(Player winner) {
+    onEventThread(() -> this.showGameOver(winner));
+  }
+
+  private void showGameOver(Player winner) {
     String message = "";
     if (winner == null) {
       message = "GAME OVER! DRAW.";
@@ -256,14 +278,26 @@ public class ReversiGUIView extends JFrame implements ReversiGUI {
 
   @Override
   public void notifyIllegalMove(Player player) {
-    JOptionPane.showMessageDialog(this, "Illegal Move! Try Again, Player " + player,
-        "Illegal Move", JOptionPane.INFORMATION_MESSAGE);
+    onEventThread(() ->
+        JOptionPane.showMessageDialog(this, "Illegal Move! Try Again, Player " + player,
+            "Illegal Move", JOptionPane.INFORMATION_MESSAGE));
   }
 
   @Override
   public void notifyOutOfTurnMove(Player player) {
-    JOptionPane.showMessageDialog(this, "It is not your turn, Player " + player,
-        "Not your turn!", JOptionPane.INFORMATION_MESSAGE);
+    onEventThread(() ->
+        JOptionPane.showMessageDialog(this, "It is not your turn, Player " + player,
+            "Not your turn!", JOptionPane.INFORMATION_MESSAGE));
+  }
+
+  //runs at once on the Swing event thread, or later on it from any other thread
+  private static void onEventThread(Runnable update) {
+    if (SwingUtilities.isEventDispatchThread()) {
+      update.run();
+    }
+    else {
+      SwingUtilities.invokeLater(update);
+    }
   }
 
   private class KeyPressHandler implements KeyListener {
@@ -281,6 +315,10 @@ public class ReversiGUIView extends JFrame implements ReversiGUI {
           featuresListener.passTurn();
         }
       }
+      // 's' marks the stable discs, or stops marking them
+      if (e.getKeyChar() == 's') {
+        guiPanel.toggleStability();
+      }
     }
 
     @Override
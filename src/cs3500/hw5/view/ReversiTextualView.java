@@ -69,7 +69,7 @@ public class ReversiTextualView implements TextualView {
    */
   public String toString() {
     String str = "";
-    List<List<Hexagon>> board = model.getBoard();
+    List<List<Hexagon>> board = model.getBoardView();
     int maxWidth = this.findLargestList(board);
 
     for (List<Hexagon> row : board) {
@@ -0,0 +1,71 @@
+package cs3500.reversi;
+
+import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.BitboardReversi;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.strategies.CaptureMostPieces;
+import cs3500.hw5.view.ReversiTextualView;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Runs the model tests against the BitboardReversi class, and checks that it plays the same
+ * games as BasicReversi.
+ */
+public class BitboardModelTests extends ModelTests {
+
+  @Override
+  protected ReversiModel createModel() {
+    return new BitboardReversi();
+  }
+
+  @Override
+  protected ReversiModel createModel(int maxWidth, int minWidth) {
+    return new BitboardReversi(maxWidth, minWidth);
+  }
+
+  @Test
+  public void testPlaysSameGameAsBasicReversi() {
+    ReversiModel basic = new BasicReversi();
+    ReversiModel bitboard = new BitboardReversi();
+    Player basicX = new BasicPlayer(basic, "X");
+    Player basicO = new BasicPlayer(basic, "O");
+    Player bitboardX = new BasicPlayer(bitboard, "X");
+    Player bitboardO = new BasicPlayer(bitboard, "O");
+    basic.startGame(basicX, basicO, basic.getBoard());
+    bitboard.startGame(bitboardX, bitboardO, bitboard.getBoard());
+
+    //both models should agree on every legal move and every board for an entire game
+    while (!basic.isGameOver()) {
+      boolean xToMove = basic.getTurn() == basicX;
+      Player basicPlayer = xToMove ? basicX : basicO;
+      Player bitboardPlayer = xToMove ? bitboardX : bitboardO;
+      Assert.assertEquals(basic.hasLegalMove(basicPlayer),
+          bitboard.hasLegalMove(bitboardPlayer));
+      for (int row = 0; row < basic.getBoardSize(); row++) {
+        for (int col = 0; col < basic.getBoard().get(row).size(); col++) {
+          Assert.assertEquals(basic.isLegalMove(new Coord(row, col), basicPlayer),
+              bitboard.isLegalMove(new Coord(row, col), bitboardPlayer));
+        }
+      }
+
+      Optional<Coord> move = new CaptureMostPieces().chooseMove(basic, basicPlayer);
+      if (move.isPresent()) {
+        basic.makeMove(basicPlayer, move.get());
+        bitboard.makeMove(bitboardPlayer, move.get());
+      } else {
+        basic.passTurn(basicPlayer);
+        bitboard.passTurn(bitboardPlayer);
+      }
+      Assert.assertEquals(new ReversiTextualView(basic).toString(),
+          new ReversiTextualView(bitboard).toString());
+    }
+    Assert.assertTrue(bitboard.isGameOver());
+    Assert.assertEquals(basic.getScore(basicX), bitboard.getScore(bitboardX));
+    Assert.assertEquals(basic.getScore(basicO), bitboard.getScore(bitboardO));
+  }
+}
@@ -0,0 +1,159 @@
+package cs3500.reversi;
+
+import cs3500.hw5.controller.GameHost;
+import cs3500.hw5.controller.GameSession;
+import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.ModelFeatures;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.RobotPlayer;
+import cs3500.hw5.strategies.CaptureMostPieces;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests hosting many games at once on a GameHost.
+ */
+public class GameHostTests {
+
+  @Test
+  public void testRobotGamesArePlayedToTheEnd() throws InterruptedException {
+    try (GameHost host = new GameHost(2)) {
+      List<GameSession> games = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        ReversiModel model = new BasicReversi(7, 4);
+        games.add(host.host(model, new RobotPlayer(model, "X", new CaptureMostPieces()),
+            new RobotPlayer(model, "O", new CaptureMostPieces())));
+      }
+      for (GameSession game : games) {
+        Assert.assertTrue(game.awaitEnd(Duration.ofMinutes(1)));
+        Assert.assertTrue(game.isOver());
+        Assert.assertNull(game.getFailure());
+        Assert.assertTrue(game.getModel().isGameOver());
+      }
+      Assert.assertTrue(host.getRobotMoves() > 100);
+      Assert.assertTrue(host.getMoveLatencyNanos(99) >= host.getMoveLatencyNanos(50));
+    }
+  }
+
+  @Test
+  public void testFinishedGameLeavesTheHost() throws InterruptedException {
+    try (GameHost host = new GameHost(1)) {
+      ReversiModel model = new BasicReversi(7, 4);
+      GameSession session = host.host(model, new RobotPlayer(model, "X", new CaptureMostPieces()),
+          new RobotPlayer(model, "O", new CaptureMostPieces()));
+      Assert.assertTrue(session.awaitEnd(Duration.ofMinutes(1)));
+      Assert.assertEquals(host.getActiveSessions(), 0);
+    }
+  }
+
+  @Test
+  public void testHumanPlaysBySubmittingMoves() throws InterruptedException {
+    try (GameHost host = new GameHost(1)) {
+      ReversiModel model = new BasicReversi();
+      Player human = new BasicPlayer(model, "X");
+      TurnWatcher watcher = new TurnWatcher(human);
+      model.addFeaturesListener(watcher);
+      GameSession session = host.host(model, human,
+          new RobotPlayer(model, "O", new CaptureMostPieces()));
+
+      watcher.awaitTurn();
+      for (int i = 1; i <= 3; i++) {
+        session.submitMove(model.legalMoves(human).get(0));
+        //the robot has replied once it is the human's turn again
+        watcher.awaitTurn();
+        Assert.assertEquals(model.getEmptyCount(), 85 - 2 * i);
+      }
+      Assert.assertFalse(session.isOver());
+    }
+  }
+
+  @Test
+  public void testIllegalSubmittedMoveIsDropped() throws InterruptedException {
+    try (GameHost host = new GameHost(1)) {
+      ReversiModel model = new BasicReversi();
+      Player human = new BasicPlayer(model, "X");
+      TurnWatcher watcher = new TurnWatcher(human);
+      model.addFeaturesListener(watcher);
+      GameSession session = host.host(model, human,
+          new RobotPlayer(model, "O", new CaptureMostPieces()));
+
+      watcher.awaitTurn();
+      session.submitMove(new Coord(0, 0));
+      Assert.assertTrue(watcher.illegal.tryAcquire(1, TimeUnit.MINUTES));
+      Assert.assertEquals(model.getEmptyCount(), 85);
+      Assert.assertEquals(model.getTurn(), human);
+
+      //the human can still move after the rejected move
+      session.submitMove(model.legalMoves(human).get(0));
+      watcher.awaitTurn();
+      Assert.assertEquals(model.getEmptyCount(), 83);
+      Assert.assertFalse(session.isOver());
+    }
+  }
+
+  @Test
+  public void testClosingTheHostAbandonsWaitingGames() throws InterruptedException {
+    GameHost host = new GameHost(1);
+    ReversiModel model = new BasicReversi();
+    GameSession idle = host.host(model, new BasicPlayer(model, "X"),
+        new BasicPlayer(model, "O"));
+    host.close();
+    Assert.assertTrue(idle.awaitEnd(Duration.ofMinutes(1)));
+    Assert.assertFalse(idle.isOver());
+    Assert.assertThrows(IllegalStateException.class,
+        () -> host.host(model, new BasicPlayer(model, "X"), new BasicPlayer(model, "O")));
+  }
+
+  /**
+   * Listens to a hosted game for the turns of a human, and for rejected moves. The game is not
+   * changed again until the human submits a move, so it can be read once the turn has started.
+   */
+  private static final class TurnWatcher implements ModelFeatures {
+    private final Player human;
+    private final Semaphore turns = new Semaphore(0);
+    private final Semaphore illegal = new Semaphore(0);
+
+    private TurnWatcher(Player human) {
+      this.human = human;
+    }
+
+    private void awaitTurn() throws InterruptedException {
+      Assert.assertTrue(this.turns.tryAcquire(1, TimeUnit.MINUTES));
+    }
+
+    @Override
+    public void notifyPlayerChanged(Player currentPlayer) {
+      if (currentPlayer == this.human) {
+        this.turns.release();
+      }
+    }
+
+    @Override
+    public void notifyGameOver(Player winner) {
+      //the games of these tests do not end.
+    }
+
+    @Override
+    public void notifyBoardUpdated() {
+      //only turns are watched.
+    }
+
+    @Override
+    public void notifyIllegalMove(Player player) {
+      this.illegal.release();
+    }
+
+    @Override
+    public void notifyOutOfTurnMove(Player player) {
+      //only the human submits moves, on its turn.
+    }
+  }
+}
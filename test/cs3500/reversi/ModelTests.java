@@ -2,13 +2,22 @@ package cs3500.reversi;
 
 import cs3500.hw5.model.BasicPlayer;
 import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.BoardGeometry;
 import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.GamePhase;
 import cs3500.hw5.model.Hexagon;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
 
 import cs3500.hw5.view.ReversiTextualView;
 import cs3500.hw5.view.TextualView;
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import org.junit.Assert;
@@ -26,9 +35,30 @@ public class ModelTests {
 
   Player p2;
 
+  /**
+   * Creates the model under test, so that every implementation of the model can share these
+   * tests.
+   *
+   * @return a new default game.
+   */
+  protected ReversiModel createModel() {
+    return new BasicReversi();
+  }
+
+  /**
+   * Creates the model under test with a custom board size.
+   *
+   * @param maxWidth the maximum width of the board.
+   * @param minWidth the minimum width of the board.
+   * @return a new game.
+   */
+  protected ReversiModel createModel(int maxWidth, int minWidth) {
+    return new BasicReversi(maxWidth, minWidth);
+  }
+
   @Before
   public void init() {
-    model = new BasicReversi();
+    model = this.createModel();
     board = model.getBoard();
     p1 = new BasicPlayer(model, "X");
     p2 = new BasicPlayer(model, "O");
@@ -51,7 +81,7 @@ public class ModelTests {
 
   @Test
   public void testCustomBoardIsCreatedProperly() {
-    ReversiModel customReversi = new BasicReversi(13, 2);
+    ReversiModel customReversi = this.createModel(13, 2);
     List<List<Hexagon>> board = customReversi.getBoard();
     customReversi.startGame(new BasicPlayer(customReversi, "X"),
         new BasicPlayer(customReversi,"O"), board);
@@ -107,20 +137,20 @@ public class ModelTests {
 
   @Test
   public void makeMoveRejectsUnstartedGameTest() {
-    ReversiModel model = new BasicReversi();
+    ReversiModel model = this.createModel();
     Player p1 = new BasicPlayer(model, "X");
     Assert.assertThrows(IllegalStateException.class, () -> model.makeMove(p1, new Coord(4, 5)));
   }
 
   @Test
   public void getTurnRejectsUnstartedGameTest() {
-    ReversiModel model = new BasicReversi();
+    ReversiModel model = this.createModel();
     Assert.assertThrows(IllegalStateException.class, model::getTurn);
   }
 
   @Test
   public void isGameOverRejectsUnstartedGameTest() {
-    ReversiModel model = new BasicReversi();
+    ReversiModel model = this.createModel();
     Assert.assertThrows(IllegalStateException.class, model::isGameOver);
   }
 
@@ -191,4 +221,298 @@ public class ModelTests {
     Assert.assertFalse(model.isGameOver());
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testBoardGeometryIsSharedAndFollowsHexLines() {
+    BoardGeometry geometry = BoardGeometry.of(11, 6);
+    Assert.assertSame(geometry, BoardGeometry.of(11, 6));
+    Assert.assertSame(geometry, BoardGeometry.of(board));
+    Assert.assertEquals(geometry.cellCount(), 91);
+    Assert.assertEquals(geometry.cellIndex(10, 5), 90);
+
+    //the line to the bottom right of (3, 4) shifts columns until the middle row,
+    //then runs straight down until it leaves the board
+    int cell = geometry.cellIndex(3, 4);
+    int[] expectedRows = {4, 5, 6, 7, 8, 9};
+    int[] expectedCols = {5, 6, 6, 6, 6, 6};
+    int start = geometry.rayStart(BoardGeometry.BOTTOM_RIGHT, cell);
+    Assert.assertEquals(geometry.rayEnd(BoardGeometry.BOTTOM_RIGHT, cell) - start, 6);
+    for (int i = 0; i < expectedRows.length; i++) {
+      int next = geometry.rayCell(start + i);
+      Assert.assertEquals(geometry.cellRow(next), expectedRows[i]);
+      Assert.assertEquals(geometry.cellCol(next), expectedCols[i]);
+    }
+    Assert.assertEquals(geometry.rayStart(BoardGeometry.TOP_LEFT, 0),
+        geometry.rayEnd(BoardGeometry.TOP_LEFT, 0));
+  }
+
+  @Test
+  public void testLegalMoveChecksDoNotAllocate() {
+    model.startGame(p1, p2, board);
+    Coord[] coords = new Coord[91];
+    int count = 0;
+    for (int row = 0; row < board.size(); row++) {
+      for (int col = 0; col < board.get(row).size(); col++) {
+        coords[count] = new Coord(row, col);
+        count++;
+      }
+    }
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    int legalMoves = this.countLegalMoves(coords);
+    threads.getCurrentThreadAllocatedBytes();
+
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < 1000; i++) {
+      legalMoves += this.countLegalMoves(coords);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+    Assert.assertEquals(legalMoves, 1001 * 7);
+    Assert.assertTrue("Legal move checks allocated " + allocated + " bytes", allocated < 1024);
+  }
+
+  @Test
+  public void testDoMoveAndUndoMoveRestoreTheGame() {
+    model.startGame(p1, p2, board);
+    SearchableReversiModel searchable = (SearchableReversiModel) model;
+    TextualView view = new ReversiTextualView(model);
+    String start = view.toString();
+
+    //play the first legal move of each turn, passing when there is none
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    List<String> states = new ArrayList<>();
+    for (int turn = 0; turn < 20; turn++) {
+      states.add(view.toString());
+      Coord move = this.firstLegalMove(model.getTurn());
+      if (move == null) {
+        records.push(searchable.doPass());
+        Assert.assertTrue(records.peek().isPass());
+      } else {
+        int before = model.getScore(model.getTurn());
+        records.push(searchable.doMove(move));
+        Assert.assertEquals(records.peek().getFlipCount(),
+            model.getScore(model.getTurn() == p1 ? p2 : p1) - before - 1);
+      }
+    }
+    Assert.assertNotEquals(view.toString(), start);
+
+    for (int turn = 19; turn >= 0; turn--) {
+      searchable.undoMove(records.pop());
+      Assert.assertEquals(view.toString(), states.get(turn));
+    }
+    Assert.assertSame(model.getTurn(), p1);
+    Assert.assertEquals(model.getScore(p1), 3);
+    Assert.assertEquals(model.getScore(p2), 3);
+    Assert.assertFalse(model.isGameOver());
+  }
+
+  @Test
+  public void testScoreAndEmptyCountFollowEveryChange() {
+    model.startGame(p1, p2, board);
+    Assert.assertEquals(model.getEmptyCount(), 85);
+    Assert.assertEquals(model.getGamePhase(), GamePhase.OPENING);
+
+    SearchableReversiModel searchable = (SearchableReversiModel) model;
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    for (int turn = 0; turn < 30; turn++) {
+      Coord move = this.firstLegalMove(model.getTurn());
+      records.push(move == null ? searchable.doPass() : searchable.doMove(move));
+      Assert.assertEquals(model.getScore(p1), this.countHexagons(Hexagon.X));
+      Assert.assertEquals(model.getScore(p2), this.countHexagons(Hexagon.O));
+      Assert.assertEquals(model.getEmptyCount(), this.countHexagons(Hexagon.EMPTY));
+    }
+    Assert.assertEquals(model.getGamePhase(), GamePhase.MIDGAME);
+
+    while (!records.isEmpty()) {
+      searchable.undoMove(records.pop());
+    }
+    Assert.assertEquals(model.getEmptyCount(), 85);
+    Assert.assertEquals(GamePhase.of(22, 91), GamePhase.ENDGAME);
+    Assert.assertEquals(GamePhase.of(23, 91), GamePhase.MIDGAME);
+  }
+
+  @Test
+  public void testLegalMovesStayInStepWithTheBoard() {
+    model.startGame(p1, p2, board);
+    Assert.assertEquals(model.legalMoves(p1).size(), 6);
+
+    SearchableReversiModel searchable = (SearchableReversiModel) model;
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    for (int turn = 0; turn < 40; turn++) {
+      Coord move = this.firstLegalMove(model.getTurn());
+      records.push(move == null ? searchable.doPass() : searchable.doMove(move));
+      this.assertLegalMovesMatchNewGame();
+    }
+    while (!records.isEmpty()) {
+      searchable.undoMove(records.pop());
+      this.assertLegalMovesMatchNewGame();
+    }
+  }
+
+  @Test
+  public void testPositionHashFollowsMovesAndTurn() {
+    model.startGame(p1, p2, board);
+    long start = model.positionHash();
+    BasicReversi basic = new BasicReversi();
+    basic.startGame(new BasicPlayer(basic, "X"), new BasicPlayer(basic, "O"), basic.getBoard());
+    Assert.assertEquals(start, basic.positionHash());
+
+    SearchableReversiModel searchable = (SearchableReversiModel) model;
+    UndoRecord pass = searchable.doPass();
+    Assert.assertNotEquals(model.positionHash(), start);
+    searchable.undoMove(pass);
+    Assert.assertEquals(model.positionHash(), start);
+
+    Deque<UndoRecord> records = new ArrayDeque<>();
+    for (int turn = 0; turn < 20; turn++) {
+      Coord move = this.firstLegalMove(model.getTurn());
+      records.push(move == null ? searchable.doPass() : searchable.doMove(move));
+      ReversiModel fresh = this.createModel();
+      Player freshP1 = new BasicPlayer(fresh, "X");
+      fresh.startGame(freshP1, new BasicPlayer(fresh, "O"), model.getBoard());
+      if (model.getTurn() == p2) {
+        fresh.passTurn(freshP1);
+      }
+      Assert.assertEquals(model.positionHash(), fresh.positionHash());
+    }
+    while (!records.isEmpty()) {
+      searchable.undoMove(records.pop());
+    }
+    Assert.assertEquals(model.positionHash(), start);
+  }
+
+  @Test
+  public void testMakeCopyIsAnIndependentClone() {
+    Assert.assertEquals(this.createModel(7, 4).makeCopy().getBoard(),
+        this.createModel(7, 4).getBoard());
+
+    model.startGame(p1, p2, board);
+    model.makeMove(p1, new Coord(3, 4));
+    String position = new ReversiTextualView(model).toString();
+    ReversiModel copy = model.makeCopy();
+    Assert.assertEquals(new ReversiTextualView(copy).toString(), position);
+    Assert.assertSame(copy.getTurn(), p2);
+    Assert.assertEquals(copy.positionHash(), model.positionHash());
+    Assert.assertEquals(copy.getScore(p1), model.getScore(p1));
+    Assert.assertEquals(copy.legalMoves(p2), model.legalMoves(p2));
+
+    copy.makeMove(p2, copy.legalMoves(p2).get(0));
+    Assert.assertEquals(new ReversiTextualView(model).toString(), position);
+    Assert.assertSame(model.getTurn(), p2);
+    String copyPosition = new ReversiTextualView(copy).toString();
+
+    model.makeMove(p2, model.legalMoves(p2).get(1));
+    Assert.assertEquals(new ReversiTextualView(copy).toString(), copyPosition);
+    Assert.assertNotEquals(new ReversiTextualView(model).toString(), copyPosition);
+  }
+
+  @Test
+  public void testBoardViewReadsThroughWithoutCopying() {
+    model.startGame(p1, p2, board);
+    List<List<Hexagon>> view = model.getBoardView();
+    Assert.assertSame(model.getBoardView(), view);
+    Assert.assertEquals(view, model.getBoard());
+    Assert.assertEquals(model.rowLength(5), 11);
+    Assert.assertEquals(model.getCell(4, 4), Hexagon.X);
+
+    model.makeMove(p1, new Coord(3, 4));
+    Assert.assertEquals(view, model.getBoard());
+    Assert.assertEquals(view.get(3).get(4), Hexagon.X);
+    Assert.assertThrows(UnsupportedOperationException.class,
+        () -> view.get(3).set(4, Hexagon.O));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.getCell(0, 6));
+    Assert.assertThrows(IllegalArgumentException.class, () -> model.rowLength(11));
+
+    ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    int filled = this.countFilledCells(view);
+    threads.getCurrentThreadAllocatedBytes();
+    long before = threads.getCurrentThreadAllocatedBytes();
+    for (int i = 0; i < 1000; i++) {
+      filled += this.countFilledCells(view);
+    }
+    long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+    Assert.assertEquals(filled, 1001 * 7);
+    Assert.assertTrue("Reading the board allocated " + allocated + " bytes", allocated < 1024);
+  }
+
+  @Test
+  public void testCellNumbersAgreeWithCoordinates() {
+    model.startGame(p1, p2, board);
+    SearchableReversiModel searchable = (SearchableReversiModel) model;
+    BoardGeometry geometry = searchable.getGeometry();
+    Assert.assertSame(geometry, BoardGeometry.of(11, 6));
+    for (int cell = 0; cell < geometry.cellCount(); cell++) {
+      Coord coords = new Coord(geometry.cellRow(cell), geometry.cellCol(cell));
+      Assert.assertEquals(searchable.getCell(cell), model.getCell(coords.row, coords.col));
+      Assert.assertEquals(searchable.isLegalMove(cell, p1), model.isLegalMove(coords, p1));
+      Assert.assertEquals(searchable.isLegalMove(cell, p2), model.isLegalMove(coords, p2));
+    }
+    Assert.assertThrows(IllegalArgumentException.class, () -> searchable.getCell(91));
+    Assert.assertThrows(IllegalArgumentException.class, () -> searchable.doMove(-1));
+
+    int cell = geometry.cellIndex(3, 4);
+    searchable.makeMove(p1, cell);
+    Assert.assertEquals(searchable.getCell(cell), Hexagon.X);
+    Assert.assertSame(model.getTurn(), p2);
+    Assert.assertThrows(IllegalStateException.class, () -> searchable.makeMove(p2, cell));
+  }
+
+  private int countFilledCells(List<List<Hexagon>> view) {
+    int filled = 0;
+    for (int row = 0; row < view.size(); row++) {
+      List<Hexagon> cells = view.get(row);
+      for (int col = 0; col < cells.size(); col++) {
+        if (cells.get(col) != Hexagon.EMPTY) {
+          filled++;
+        }
+      }
+    }
+    return filled;
+  }
+
+  private void assertLegalMovesMatchNewGame() {
+    ReversiModel fresh = this.createModel();
+    Player freshP1 = new BasicPlayer(fresh, "X");
+    Player freshP2 = new BasicPlayer(fresh, "O");
+    fresh.startGame(freshP1, freshP2, model.getBoard());
+    Assert.assertEquals(model.legalMoves(p1), fresh.legalMoves(freshP1));
+    Assert.assertEquals(model.legalMoves(p2), fresh.legalMoves(freshP2));
+    Assert.assertEquals(model.hasLegalMove(p2), !fresh.legalMoves(freshP2).isEmpty());
+  }
+
+  private int countHexagons(Hexagon hexagon) {
+    int count = 0;
+    for (int row = 0; row < board.size(); row++) {
+      for (int col = 0; col < board.get(row).size(); col++) {
+        if (model.getBoard().get(row).get(col) == hexagon) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  private Coord firstLegalMove(Player player) {
+    for (int row = 0; row < board.size(); row++) {
+      for (int col = 0; col < board.get(row).size(); col++) {
+        if (model.isLegalMove(new Coord(row, col), player)) {
+          return new Coord(row, col);
+        }
+      }
+    }
+    return null;
+  }
+
+  private int countLegalMoves(Coord[] coords) {
+    int legalMoves = 0;
+    for (int i = 0; i < coords.length; i++) {
+      if (model.isLegalMove(coords[i], p1)) {
+        legalMoves++;
+      }
+    }
+    if (model.hasLegalMove(p2)) {
+      legalMoves++;
+    }
+    return legalMoves;
+  }
+
+}
@@ -1,12 +1,14 @@
 package cs3500.reversi;
 
 import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.GamePhase;
 import cs3500.hw5.model.Hexagon;
 import cs3500.hw5.model.ModelFeatures;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
@@ -70,6 +72,21 @@ public class ReversiMockForStrategies implements ReversiModel {
     return board.size();
   }
 
+  @Override
+  public int rowLength(int row) throws IllegalArgumentException {
+    return board.get(row).size();
+  }
+
+  @Override
+  public Hexagon getCell(int row, int col) throws IllegalArgumentException {
+    return board.get(row).get(col);
+  }
+
+  @Override
+  public List<List<Hexagon>> getBoardView() {
+    return Collections.unmodifiableList(board);
+  }
+
   @Override
   public void startGame(Player player1, Player player2, List<List<Hexagon>> board)
       throws IllegalArgumentException, IllegalStateException {
@@ -121,6 +138,29 @@ public class ReversiMockForStrategies implements ReversiModel {
     return score;
   }
 
+  @Override
+  public int getEmptyCount() throws IllegalStateException {
+    int empty = 0;
+    for (List<Hexagon> row : this.board) {
+      for (Hexagon hexagon : row) {
+        if (hexagon == Hexagon.EMPTY) {
+          empty++;
+        }
+      }
+    }
+    return empty;
+  }
+
+  @Override
+  public GamePhase getGamePhase() throws IllegalStateException {
+    return GamePhase.of(this.getEmptyCount(), 91);
+  }
+
+  @Override
+  public long positionHash() throws IllegalStateException {
+    return this.board.hashCode();
+  }
+
   @Override
   public boolean isGameOver() throws IllegalStateException {
     return false;
@@ -150,6 +190,19 @@ public class ReversiMockForStrategies implements ReversiModel {
     return true;
   }
 
+  @Override
+  public List<Coord> legalMoves(Player player) throws IllegalStateException {
+    List<Coord> moves = new ArrayList<>();
+    for (int row = 0; row < this.getBoard().size(); row++) {
+      for (int col = 0; col < this.getBoard().get(row).size(); col++) {
+        if (this.isLegalMove(new Coord(row, col), player)) {
+          moves.add(new Coord(row, col));
+        }
+      }
+    }
+    return moves;
+  }
+
   @Override
   public void addFeaturesListener(ModelFeatures listener) {
     return;
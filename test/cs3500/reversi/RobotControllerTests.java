@@ -0,0 +1,186 @@
+package cs3500.reversi;
+
+import cs3500.hw5.controller.GameThread;
+import cs3500.hw5.controller.ReversiGUIController;
+import cs3500.hw5.controller.ReversiRobotController;
+import cs3500.hw5.controller.TurnScheduler;
+import cs3500.hw5.model.BasicPlayer;
+import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.RobotPlayer;
+import cs3500.hw5.strategies.CaptureMostPieces;
+import cs3500.hw5.strategies.ReversiStrategy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests games between robots driven by their controllers, without any windows.
+ */
+public class RobotControllerTests {
+
+  @Test
+  public void testRobotsTakeTurnsWithoutDeepeningTheStack() {
+    //a board of over a thousand hexagons, whose game would once have been one deep call stack
+    ReversiModel model = new BasicReversi(41, 21);
+    Player robot1 = new RobotPlayer(model, "X", new CaptureMostPieces());
+    Player robot2 = new RobotPlayer(model, "O", new CaptureMostPieces());
+    ViewMock view1 = new ViewMock();
+    ViewMock view2 = new ViewMock();
+    new ReversiRobotController(model, robot1, view1);
+    new ReversiRobotController(model, robot2, view2);
+    int[] depths = {Integer.MAX_VALUE, 0};
+    ViewMock recorder = new ViewMock() {
+      @Override
+      public void notifyPlayerChanged(Player currentPlayer) {
+        super.notifyPlayerChanged(currentPlayer);
+        int depth = Thread.currentThread().getStackTrace().length;
+        depths[0] = Math.min(depths[0], depth);
+        depths[1] = Math.max(depths[1], depth);
+      }
+    };
+    model.addFeaturesListener(recorder);
+    long turnsBefore = TurnScheduler.current().getTurnsRun();
+
+    TurnScheduler.current().schedule(() -> model.startGame(robot1, robot2, model.getBoard()));
+    Assert.assertTrue(model.isGameOver());
+    Assert.assertFalse(TurnScheduler.current().isRunning());
+    Assert.assertTrue(TurnScheduler.current().getTurnsRun() - turnsBefore > 100);
+    Assert.assertTrue(depths[1] - depths[0] < 20);
+
+    //every listener hears about each move, in the order the game tells them, before the next
+    List<String> log = recorder.log;
+    Assert.assertEquals(log.get(0), "PLAYER CHANGED X");
+    for (int i = 1; i + 1 < log.size(); i += 2) {
+      Assert.assertEquals(log.get(i), "BOARD UPDATED");
+      Assert.assertTrue(log.get(i + 1).startsWith("PLAYER CHANGED"));
+      Assert.assertNotEquals(log.get(i + 1), log.get(i - 1));
+    }
+    Assert.assertTrue(log.get(log.size() - 1).startsWith("GAME OVER"));
+    Assert.assertTrue(view1.log.contains("REFRESH"));
+  }
+
+  @Test
+  public void testRobotsSearchInTheBackgroundAndMoveOnTheGameThread()
+      throws InterruptedException {
+    ExecutorService searches = Executors.newFixedThreadPool(2);
+    try (GameThread gameThread = new GameThread()) {
+      ReversiModel model = new BasicReversi(7, 4);
+      RobotPlayer robot1 = new RobotPlayer(model, "X", new CaptureMostPieces());
+      RobotPlayer robot2 = new RobotPlayer(model, "O", new CaptureMostPieces());
+      new ReversiRobotController(model, robot1, new ViewMock(), gameThread, searches);
+      new ReversiRobotController(model, robot2, new ViewMock(), gameThread, searches);
+      CountDownLatch over = new CountDownLatch(1);
+      boolean[] elsewhere = {false};
+      ViewMock recorder = new ViewMock() {
+        @Override
+        public void notifyPlayerChanged(Player currentPlayer) {
+          super.notifyPlayerChanged(currentPlayer);
+          elsewhere[0] |= !gameThread.isCurrent();
+        }
+
+        @Override
+        public void notifyBoardUpdated() {
+          super.notifyBoardUpdated();
+          elsewhere[0] |= !gameThread.isCurrent();
+          //a game that ends on a full board does not tell its listeners
+          if (model.isGameOver()) {
+            over.countDown();
+          }
+        }
+
+        @Override
+        public void notifyGameOver(Player winner) {
+          super.notifyGameOver(winner);
+          over.countDown();
+        }
+      };
+      model.addFeaturesListener(recorder);
+
+      gameThread.execute(() -> model.startGame(robot1, robot2, model.getBoard()));
+      Assert.assertTrue(over.await(1, TimeUnit.MINUTES));
+      Assert.assertFalse(elsewhere[0]);
+      Assert.assertTrue(recorder.log.size() > 10);
+    } finally {
+      searches.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testHumanMoveIsDrawnWhileTheRobotSearches() throws InterruptedException {
+    ExecutorService searches = Executors.newFixedThreadPool(1);
+    try (GameThread gameThread = new GameThread()) {
+      //the robot thinks until the test lets it
+      CountDownLatch searching = new CountDownLatch(1);
+      CountDownLatch release = new CountDownLatch(1);
+      ReversiStrategy slow = new ReversiStrategy() {
+        private final ReversiStrategy inner = new CaptureMostPieces();
+
+        @Override
+        public Optional<Coord> chooseMove(ReversiModel model, Player forWhom) {
+          searching.countDown();
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+          }
+          return inner.chooseMove(model, forWhom);
+        }
+
+        @Override
+        public int getMoveWeight(Coord move) {
+          return inner.getMoveWeight(move);
+        }
+
+        @Override
+        public ReversiStrategy makeCopy() {
+          return this;
+        }
+      };
+      ReversiModel model = new BasicReversi();
+      Player human = new BasicPlayer(model, "X");
+      RobotPlayer robot = new RobotPlayer(model, "O", slow);
+      CountDownLatch started = new CountDownLatch(1);
+      //one count for the human's move, and one for the robot's
+      CountDownLatch moves = new CountDownLatch(2);
+      ViewMock humanView = new ViewMock() {
+        @Override
+        public void notifyPlayerChanged(Player currentPlayer) {
+          started.countDown();
+        }
+
+        @Override
+        public void notifyBoardUpdated() {
+          moves.countDown();
+        }
+      };
+      ReversiGUIController controller =
+          new ReversiGUIController(model, human, humanView, gameThread);
+      new ReversiRobotController(model, robot, new ViewMock(), gameThread, searches);
+
+      gameThread.execute(() -> model.startGame(human, robot, model.getBoard()));
+      Assert.assertTrue(started.await(1, TimeUnit.MINUTES));
+      Coord move = model.legalMoves(human).get(0);
+      controller.makeMove(move);
+      //the robot only searches once the human's move has been drawn, and cannot move until released
+      Assert.assertTrue(searching.await(1, TimeUnit.MINUTES));
+      Assert.assertEquals(moves.getCount(), 1);
+      release.countDown();
+      Assert.assertTrue(moves.await(1, TimeUnit.MINUTES));
+      CountDownLatch settled = new CountDownLatch(1);
+      gameThread.execute(settled::countDown);
+      Assert.assertTrue(settled.await(1, TimeUnit.MINUTES));
+      Assert.assertEquals(model.getEmptyCount(), 83);
+      Assert.assertEquals(model.getTurn(), human);
+    } finally {
+      searches.shutdownNow();
+    }
+  }
+}
@@ -2,23 +2,45 @@ package cs3500.reversi;
 
 import cs3500.hw5.model.BasicPlayer;
 import cs3500.hw5.model.BasicReversi;
+import cs3500.hw5.model.BoardGeometry;
 import cs3500.hw5.model.Coord;
 import cs3500.hw5.model.Hexagon;
 import cs3500.hw5.model.Player;
 import cs3500.hw5.model.ReversiModel;
+import cs3500.hw5.model.RobotPlayer;
+import cs3500.hw5.model.SearchableReversiModel;
+import cs3500.hw5.model.UndoRecord;
 
+import cs3500.hw5.strategies.AlphaBeta;
+import cs3500.hw5.strategies.AnytimeStrategy;
 import cs3500.hw5.strategies.AvoidCellsNextToCorners;
 import cs3500.hw5.strategies.CaptureMostPieces;
+import cs3500.hw5.strategies.ClockManager;
+import cs3500.hw5.strategies.EndgameSolver;
 import cs3500.hw5.strategies.Minimax;
+import cs3500.hw5.strategies.MonteCarlo;
+import cs3500.hw5.strategies.MoveOrdering;
+import cs3500.hw5.strategies.OpeningBook;
+import cs3500.hw5.strategies.Ponderer;
+import cs3500.hw5.strategies.PositionalWeights;
 import cs3500.hw5.strategies.PrioritizeCorners;
+import cs3500.hw5.strategies.StabilityAnalyzer;
+import cs3500.hw5.strategies.TranspositionTable;
 import cs3500.hw5.strategies.TryTwo;
 import cs3500.hw5.view.ReversiTextualView;
 import cs3500.hw5.view.TextualView;
+import java.io.IOException;
 import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import java.util.Optional;
+import java.util.Random;
+import java.util.SplittableRandom;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -231,6 +253,456 @@ public class StrategyTests {
     Assert.assertEquals(bestMove.get().col, 1);
   }
 
+  @Test
+  public void testAlphaBetaSearchesToItsDepthWithoutChangingTheGame() {
+    String before = midgameView.toString();
+    AlphaBeta strategy = new AlphaBeta(4, 60_000);
+    Optional<Coord> bestMove = strategy.chooseMove(midgameModel, midgameP1);
+
+    Assert.assertTrue(midgameModel.isLegalMove(bestMove.get(), midgameP1));
+    Assert.assertEquals(midgameView.toString(), before);
+    Assert.assertSame(midgameModel.getTurn(), midgameP1);
+    Assert.assertEquals(strategy.getDepthReached(), 4);
+    Assert.assertTrue(strategy.getNodesSearched() > midgameModel.legalMoves(midgameP1).size());
+  }
+
+  @Test
+  public void testAlphaBetaFindsTheSameScoreAsAFullSearch() {
+    ReversiModel small = new BasicReversi(7, 4);
+    Player smallP1 = new BasicPlayer(small, "X");
+    Player smallP2 = new BasicPlayer(small, "O");
+    small.startGame(smallP1, smallP2, small.getBoard());
+    small.makeMove(smallP1, new CaptureMostPieces().chooseMove(small, smallP1).get());
+
+    for (int depth = 1; depth <= 3; depth++) {
+      AlphaBeta strategy = new AlphaBeta(depth, 60_000, new TranspositionTable(1));
+      Coord bestMove = strategy.chooseMove(small, smallP2).get();
+      Assert.assertEquals(strategy.getMoveWeight(bestMove),
+          this.fullSearch(small, smallP2, smallP1, depth));
+
+      //splitting the root across threads finds the same score
+      AlphaBeta parallel = new AlphaBeta(depth, 60_000, new TranspositionTable(1), 3);
+      Coord parallelMove = parallel.chooseMove(small, smallP2).get();
+      Assert.assertEquals(parallel.getMoveWeight(parallelMove),
+          strategy.getMoveWeight(bestMove));
+    }
+  }
+
+  @Test
+  public void testTranspositionTableKeepsTheDeepestSearch() {
+    TranspositionTable table = new TranspositionTable(1);
+    Assert.assertEquals(table.capacity(), 65536);
+    Assert.assertEquals(table.probe(42), 0);
+
+    table.store(42, 5, -17, TranspositionTable.LOWER_BOUND, 90);
+    long entry = table.probe(42);
+    Assert.assertEquals(TranspositionTable.depthOf(entry), 5);
+    Assert.assertEquals(TranspositionTable.scoreOf(entry), -17);
+    Assert.assertEquals(TranspositionTable.boundOf(entry), TranspositionTable.LOWER_BOUND);
+    Assert.assertEquals(TranspositionTable.moveOf(entry), 90);
+
+    //same bucket, shallower: goes in the second slot, then replaces it
+    long sameBucket = 42 + (1L << 40);
+    table.store(sameBucket, 2, 3, TranspositionTable.EXACT, -1);
+    Assert.assertEquals(TranspositionTable.moveOf(table.probe(sameBucket)), -1);
+    table.store(sameBucket + (1L << 41), 1, 4, TranspositionTable.EXACT, 7);
+    Assert.assertEquals(table.probe(sameBucket), 0);
+    Assert.assertEquals(TranspositionTable.depthOf(table.probe(42)), 5);
+
+    Assert.assertEquals(table.getHits(), 3);
+    Assert.assertEquals(table.getMisses(), 2);
+    Assert.assertEquals(table.getCollisions(), 1);
+
+    //a search fills the table and reuses it the next time
+    AlphaBeta strategy = new AlphaBeta(4, 60_000, table);
+    strategy.chooseMove(model, p1);
+    long nodes = strategy.getNodesSearched();
+    strategy.chooseMove(model, p1);
+    Assert.assertTrue(strategy.getNodesSearched() < nodes);
+  }
+
+  @Test
+  public void testPositionalWeightsAreComputedOncePerBoardSize() {
+    PositionalWeights positions = PositionalWeights.of(model);
+    Assert.assertSame(PositionalWeights.of(new BasicReversi()), positions);
+    Assert.assertSame(PositionalWeights.of(mockModel), positions);
+    //a board of another shape has a geometry of its own, so its table is not kept
+    BoardGeometry odd = BoardGeometry.of(Collections.nCopies(2, List.of(1, 2, 3)));
+    Assert.assertNotSame(PositionalWeights.of(odd), PositionalWeights.of(odd));
+    Assert.assertEquals(PositionalWeights.of(odd).kindOf(0), PositionalWeights.CORNER);
+
+    for (Coord corner : new CaptureMostPieces().getCorners(board)) {
+      Assert.assertEquals(positions.kindOf(corner), PositionalWeights.CORNER);
+    }
+    Assert.assertEquals(positions.kindOf(new Coord(0, 1)), PositionalWeights.NEXT_TO_CORNER);
+    Assert.assertEquals(positions.kindOf(new Coord(1, 1)), PositionalWeights.NEXT_TO_CORNER);
+    Assert.assertEquals(positions.kindOf(new Coord(4, 9)), PositionalWeights.NEXT_TO_CORNER);
+    Assert.assertEquals(positions.kindOf(new Coord(0, 3)), PositionalWeights.EDGE);
+    Assert.assertEquals(positions.kindOf(new Coord(3, 0)), PositionalWeights.EDGE);
+    Assert.assertEquals(positions.kindOf(new Coord(5, 5)), PositionalWeights.INTERIOR);
+
+    Assert.assertTrue(positions.weightOf(new Coord(0, 0)) > positions.weightOf(new Coord(0, 3)));
+    Assert.assertTrue(positions.weightOf(new Coord(0, 3)) > positions.weightOf(new Coord(5, 5)));
+    Assert.assertTrue(positions.weightOf(new Coord(5, 5)) > positions.weightOf(new Coord(0, 1)));
+  }
+
+  @Test
+  public void testMoveOrderingTriesTheBestMovesFirst() {
+    SearchableReversiModel game = (SearchableReversiModel) cornerModel;
+    BoardGeometry geometry = game.getGeometry();
+    MoveOrdering ordering = new MoveOrdering(geometry);
+    int count = ordering.order(game, cornerP2, cornerP1, 0, 1, -1);
+    Assert.assertEquals(count, cornerModel.legalMoves(cornerP2).size());
+    Coord corner = new PrioritizeCorners().chooseMove(cornerModel, cornerP2).get();
+    Assert.assertEquals(ordering.getMoves(0)[0],
+        geometry.cellIndex(corner.getRow(), corner.getCol()));
+
+    //the move from the table comes before the corner
+    int last = ordering.getMoves(0)[count - 1];
+    ordering.order(game, cornerP2, cornerP1, 0, 1, last);
+    Assert.assertEquals(ordering.getMoves(0)[0], last);
+
+    ordering.recordCutoff(1, 3, last, 0);
+    ordering.recordCutoff(1, 3, last, 2);
+    Assert.assertEquals(ordering.getCutoffs(), 2);
+    Assert.assertEquals(ordering.getFirstMoveCutoffs(), 1);
+    Assert.assertEquals(ordering.getFirstMoveCutoffRate(), 0.5, 0);
+
+    //a search counts its cut-offs, most of which the first move should make
+    AlphaBeta strategy = new AlphaBeta(6, 60_000, new TranspositionTable(1));
+    strategy.chooseMove(midgameModel, midgameP1);
+    Assert.assertTrue(strategy.getMoveOrdering().getCutoffs() > 0);
+    Assert.assertTrue(strategy.getMoveOrdering().getFirstMoveCutoffRate() > 0.5);
+  }
+
+  @Test
+  public void testMonteCarloRunsItsPlayoutsWithoutChangingTheGame() {
+    String before = midgameView.toString();
+    for (int threads = 1; threads <= 2; threads++) {
+      MonteCarlo strategy = new MonteCarlo(60_000, 300, threads, new SplittableRandom(7));
+      Optional<Coord> bestMove = strategy.chooseMove(midgameModel, midgameP1);
+
+      Assert.assertTrue(midgameModel.isLegalMove(bestMove.get(), midgameP1));
+      Assert.assertEquals(midgameView.toString(), before);
+      Assert.assertEquals(strategy.getPlayouts(), 300);
+      Assert.assertTrue(strategy.getPlayoutsPerSecond() > 0);
+
+      //every playout starts with one of the legal moves
+      int total = 0;
+      for (Coord move : midgameModel.legalMoves(midgameP1)) {
+        total += strategy.getMoveWeight(move);
+      }
+      Assert.assertEquals(total, 300);
+    }
+  }
+
+  @Test
+  public void testEndgameSolverFindsTheExactResult() {
+    ReversiModel small = new BasicReversi(7, 4);
+    Player smallP1 = new BasicPlayer(small, "X");
+    Player smallP2 = new BasicPlayer(small, "O");
+    small.startGame(smallP1, smallP2, small.getBoard());
+    EndgameSolver solver = new EndgameSolver(new CaptureMostPieces(), 10);
+
+    //plays the fallback strategy until the endgame
+    Assert.assertEquals(solver.chooseMove(small, smallP1),
+        new CaptureMostPieces().chooseMove(small, smallP1));
+    Assert.assertEquals(solver.getNodesSearched(), 0);
+    //random moves reach the endgame, where greedy ones run out of moves first
+    Random random = new Random(0);
+    while (small.getEmptyCount() > 10) {
+      Player player = small.getTurn();
+      List<Coord> moves = small.legalMoves(player);
+      if (moves.isEmpty()) {
+        small.passTurn(player);
+      } else {
+        small.makeMove(player, moves.get(random.nextInt(moves.size())));
+      }
+    }
+
+    Player mover = small.getTurn();
+    Player other = mover == smallP1 ? smallP2 : smallP1;
+    int result = this.playToTheEnd(small, mover, other);
+    Assert.assertEquals(solver.solve(small, mover), result);
+    Optional<Coord> bestMove = solver.chooseMove(small, mover);
+    if (bestMove.isPresent()) {
+      Assert.assertEquals(solver.getMoveWeight(bestMove.get()), result);
+      ReversiModel copy = small.makeCopy();
+      copy.makeMove(mover, bestMove.get());
+      Assert.assertEquals(-this.playToTheEnd(copy, other, mover), result);
+    }
+    Assert.assertTrue(solver.getNodesSearched() > 0);
+
+    //gives up on a solve that is too big
+    Assert.assertEquals(new EndgameSolver(new CaptureMostPieces(), 10, 1).chooseMove(small, mover),
+        new CaptureMostPieces().chooseMove(small, mover));
+  }
+
+  @Test
+  public void testAnytimeStrategiesKeepToTheirBudget() {
+    List<AnytimeStrategy> strategies = List.of(new AlphaBeta(30, 60_000),
+        new MonteCarlo(60_000, Long.MAX_VALUE, 1),
+        new EndgameSolver(new AlphaBeta(30, 60_000), 91, Long.MAX_VALUE));
+    for (AnytimeStrategy strategy : strategies) {
+      long start = System.nanoTime();
+      Optional<Coord> move = strategy.chooseMove(midgameModel, midgameP1, Duration.ofMillis(20));
+      Assert.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+      Assert.assertTrue(midgameModel.isLegalMove(move.get(), midgameP1));
+
+      //even with no time at all there is a move
+      move = strategy.chooseMove(midgameModel, midgameP1, Duration.ZERO);
+      Assert.assertTrue(midgameModel.isLegalMove(move.get(), midgameP1));
+    }
+
+    AlphaBeta strategy = new AlphaBeta(30, 60_000);
+    strategy.chooseMove(model, p1, Duration.ofMillis(20));
+    Assert.assertTrue(strategy.getDepthReached() < 30);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> strategy.chooseMove(model, p1, Duration.ofMillis(-1)));
+  }
+
+  @Test
+  public void testClockManagerSplitsTheGameTime() {
+    //85 empty hexagons leave each player at most 43 moves, and a tenth is kept back
+    Assert.assertEquals(model.getEmptyCount(), 85);
+    ClockManager clock = new ClockManager(Duration.ofMillis(4300));
+    Assert.assertEquals(clock.budgetFor(model), Duration.ofMillis(90));
+    clock.recordMove(Duration.ofMillis(3440));
+    Assert.assertEquals(clock.getRemaining(), Duration.ofMillis(860));
+    Assert.assertEquals(clock.budgetFor(model), Duration.ofMillis(18));
+    clock.recordMove(Duration.ofSeconds(1));
+    Assert.assertEquals(clock.getRemaining(), Duration.ZERO);
+    Assert.assertEquals(clock.budgetFor(model),
+        Duration.ofMillis(ClockManager.DEFAULT_MIN_MOVE_MILLIS));
+
+    ClockManager limited = new ClockManager(Duration.ofSeconds(100), Duration.ofMillis(50),
+        Duration.ofMillis(5));
+    Assert.assertEquals(limited.budgetFor(model), Duration.ofMillis(50));
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> new ClockManager(Duration.ofSeconds(1), Duration.ofMillis(5), Duration.ofMillis(50)));
+
+    //a robot with a clock is charged for its move
+    ReversiModel game = new BasicReversi();
+    ClockManager robotClock = new ClockManager(Duration.ofSeconds(2));
+    Player robot = new RobotPlayer(game, "X", new AlphaBeta(30, 60_000), robotClock);
+    game.startGame(robot, new BasicPlayer(game, "O"), game.getBoard());
+    robot.move(null);
+    Assert.assertEquals(game.getEmptyCount(), 84);
+    Assert.assertTrue(robotClock.getRemaining().compareTo(Duration.ofSeconds(2)) < 0);
+    Assert.assertTrue(robotClock.getRemaining().compareTo(Duration.ofMillis(1500)) > 0);
+  }
+
+  @Test
+  public void testPondererSearchesThePredictedReply() throws InterruptedException {
+    ReversiModel after = midgameModel.makeCopy();
+    after.makeMove(midgameP1, new CaptureMostPieces().chooseMove(after, midgameP1).get());
+    String before = new ReversiTextualView(after).toString();
+
+    Ponderer ponderer = new Ponderer(new AlphaBeta(30, 60_000), after, midgameP1);
+    ponderer.start();
+    Assert.assertTrue(ponderer.awaitPrediction(Duration.ofMinutes(1)));
+    Optional<Coord> reply = ponderer.getPredictedMove();
+    Assert.assertTrue(reply.isPresent());
+    ReversiModel hit = after.makeCopy();
+    hit.makeMove(midgameP2, reply.get());
+    long start = System.nanoTime();
+    Assert.assertTrue(ponderer.stop(hit));
+    Assert.assertTrue(System.nanoTime() - start < 1_000_000_000L);
+    Assert.assertEquals(new ReversiTextualView(after).toString(), before);
+
+    //any other reply is a miss
+    Ponderer missed = new Ponderer(new MonteCarlo(60_000, Long.MAX_VALUE, 1), after, midgameP1);
+    missed.start();
+    Assert.assertTrue(missed.awaitPrediction(Duration.ofMinutes(1)));
+    Optional<Coord> predicted = missed.getPredictedMove();
+    Assert.assertTrue(predicted.isPresent());
+    ReversiModel miss = after.makeCopy();
+    for (Coord move : miss.legalMoves(midgameP2)) {
+      if (!move.equals(predicted.get())) {
+        miss.makeMove(midgameP2, move);
+        break;
+      }
+    }
+    Assert.assertFalse(missed.stop(miss));
+
+    //a pondering robot keeps what it found when its opponent makes the predicted reply
+    ReversiModel game = new BasicReversi();
+    RobotPlayer robot = new RobotPlayer(game, "X", new AlphaBeta(30, 60_000),
+        new ClockManager(Duration.ofSeconds(2)), true);
+    Player human = new BasicPlayer(game, "O");
+    game.startGame(robot, human, game.getBoard());
+    robot.move(null);
+    Assert.assertTrue(robot.getPonderer().awaitPrediction(Duration.ofMinutes(1)));
+    game.makeMove(human, robot.getPonderer().getPredictedMove().get());
+    robot.move(null);
+    robot.stopPondering();
+    Assert.assertEquals(game.getEmptyCount(), 82);
+    Assert.assertEquals(robot.getPonderHits(), 1);
+  }
+
+  @Test
+  public void testStabilityAnalyzerKeepsUpWithTheGame() {
+    SearchableReversiModel game = new BasicReversi(7, 4);
+    Player gameP1 = new BasicPlayer(game, "X");
+    Player gameP2 = new BasicPlayer(game, "O");
+    game.startGame(gameP1, gameP2, game.getBoard());
+    BoardGeometry geometry = game.getGeometry();
+    PositionalWeights weights = PositionalWeights.of(geometry);
+    StabilityAnalyzer analyzer = new StabilityAnalyzer(geometry);
+    analyzer.reset(game.getBoardView());
+    Assert.assertEquals(analyzer.getStableCount(Hexagon.X), 0);
+
+    Hexagon[] stableColors = new Hexagon[geometry.cellCount()];
+    Random random = new Random(0);
+    while (!game.isGameOver()) {
+      Player player = game.getTurn();
+      List<Coord> moves = game.legalMoves(player);
+      if (moves.isEmpty()) {
+        game.passTurn(player);
+        continue;
+      }
+      Coord move = moves.get(random.nextInt(moves.size()));
+      UndoRecord record = game.doMove(move);
+      int newlyStable = analyzer.update(record);
+
+      //taking the move back undoes exactly what it made stable
+      game.undoMove(record);
+      analyzer.undo(record, newlyStable);
+      this.assertStabilityMatches(analyzer, game);
+      record = game.doMove(move);
+      analyzer.update(record);
+      this.assertStabilityMatches(analyzer, game);
+
+      for (int cell = 0; cell < geometry.cellCount(); cell++) {
+        Hexagon hexagon = game.getCell(geometry.cellRow(cell), geometry.cellCol(cell));
+        if (weights.kindOf(cell) == PositionalWeights.CORNER && hexagon != Hexagon.EMPTY) {
+          Assert.assertTrue(analyzer.isStable(cell));
+        }
+        //a stable disc is never flipped
+        if (stableColors[cell] != null) {
+          Assert.assertEquals(hexagon, stableColors[cell]);
+        } else if (analyzer.isStable(cell)) {
+          stableColors[cell] = hexagon;
+        }
+      }
+    }
+    Assert.assertTrue(analyzer.getStableCount(Hexagon.X) + analyzer.getStableCount(Hexagon.O)
+        > 0);
+    Assert.assertThrows(IllegalArgumentException.class,
+        () -> analyzer.reset(model.getBoardView()));
+
+    //the search scores stable discs the same way a full search does
+    AlphaBeta strategy = new AlphaBeta(3, 60_000, new TranspositionTable(1), 1, 10);
+    strategy.chooseMove(midgameModel, midgameP1);
+    Optional<Coord> bestMove = strategy.chooseMove(midgameModel, midgameP1);
+    Assert.assertEquals(strategy.getMoveWeight(bestMove.get()),
+        this.stabilitySearch(midgameModel, midgameP1, midgameP2, 3, 10));
+  }
+
+  @Test
+  public void testOpeningBookPlaysTheSearchedMoves() throws IOException {
+    Path file = Files.createTempFile("reversi", ".book");
+    file.toFile().deleteOnExit();
+    int size = OpeningBook.build(7, 4, 3, new AlphaBeta(3, 60_000, new TranspositionTable(1)),
+        file);
+    OpeningBook book = OpeningBook.open(file);
+    Assert.assertEquals(book.size(), size);
+    Assert.assertEquals(book.getPlies(), 3);
+    Assert.assertEquals(book.getGeometry(), BoardGeometry.of(7, 4));
+
+    ReversiModel small = new BasicReversi(7, 4);
+    Player smallP1 = new BasicPlayer(small, "X");
+    Player smallP2 = new BasicPlayer(small, "O");
+    small.startGame(smallP1, smallP2, small.getBoard());
+    AlphaBeta strategy = new AlphaBeta(3, 60_000, new TranspositionTable(1));
+    Optional<Coord> bestMove = strategy.chooseMove(small, smallP1);
+    Assert.assertEquals(book.lookup(small, smallP1), bestMove);
+    Assert.assertEquals(book.scoreOf(small, smallP1),
+        Optional.of(strategy.getMoveWeight(bestMove.get())));
+    //nothing for the player who is not to move, or for a board of another size
+    Assert.assertEquals(book.lookup(small, smallP2), Optional.empty());
+    Assert.assertEquals(book.lookup(model, p1), Optional.empty());
+
+    //every reply is in the book, and a robot plays from it
+    small.makeMove(smallP1, small.legalMoves(smallP1).get(0));
+    Assert.assertTrue(book.lookup(small, smallP2).isPresent());
+    ReversiModel game = new BasicReversi(7, 4);
+    RobotPlayer robot = new RobotPlayer(game, "X", new AlphaBeta(3, 60_000));
+    robot.setOpeningBook(book);
+    game.startGame(robot, new BasicPlayer(game, "O"), game.getBoard());
+    robot.move(null);
+    Assert.assertEquals(robot.getBookMoves(), 1);
+    Assert.assertEquals(game.getCell(bestMove.get().row, bestMove.get().col), Hexagon.X);
+
+    Path notABook = Files.createTempFile("reversi", ".book");
+    notABook.toFile().deleteOnExit();
+    Files.write(notABook, new byte[40]);
+    Assert.assertThrows(IOException.class, () -> OpeningBook.open(notABook));
+  }
+
+  //checks that an analyzer kept up to date move by move agrees with one started from scratch.
+  private void assertStabilityMatches(StabilityAnalyzer analyzer, SearchableReversiModel game) {
+    StabilityAnalyzer fresh = new StabilityAnalyzer(game.getGeometry());
+    fresh.reset(game.getBoardView());
+    for (int cell = 0; cell < game.getGeometry().cellCount(); cell++) {
+      Assert.assertEquals(analyzer.isStable(cell), fresh.isStable(cell));
+    }
+    Assert.assertEquals(analyzer.getStableCount(Hexagon.X), fresh.getStableCount(Hexagon.X));
+    Assert.assertEquals(analyzer.getStableCount(Hexagon.O), fresh.getStableCount(Hexagon.O));
+  }
+
+  //scores a game like fullSearch, with a bonus for each stable disc at the leaves.
+  private int stabilitySearch(ReversiModel game, Player mover, Player other, int depth,
+      int weight) {
+    if (depth == 0) {
+      StabilityAnalyzer analyzer = new StabilityAnalyzer(BoardGeometry.of(game.getBoardView()));
+      analyzer.reset(game.getBoardView());
+      Hexagon moverColor = mover.toString().equals("X") ? Hexagon.X : Hexagon.O;
+      Hexagon otherColor = moverColor == Hexagon.X ? Hexagon.O : Hexagon.X;
+      return game.getScore(mover) - game.getScore(other)
+          + weight * (analyzer.getStableCount(moverColor) - analyzer.getStableCount(otherColor));
+    }
+    int best = Integer.MIN_VALUE;
+    for (Coord move : game.legalMoves(mover)) {
+      ReversiModel copy = game.makeCopy();
+      copy.makeMove(mover, move);
+      best = Math.max(best, -this.stabilitySearch(copy, other, mover, depth - 1, weight));
+    }
+    return best;
+  }
+
+  //finds the final disc difference for the player to move with perfect play, without pruning.
+  private int playToTheEnd(ReversiModel game, Player mover, Player other) {
+    if (!game.hasLegalMove(mover)) {
+      if (!game.hasLegalMove(other)) {
+        return game.getScore(mover) - game.getScore(other);
+      }
+      ReversiModel copy = game.makeCopy();
+      copy.passTurn(mover);
+      return -this.playToTheEnd(copy, other, mover);
+    }
+    int best = Integer.MIN_VALUE;
+    for (Coord move : game.legalMoves(mover)) {
+      ReversiModel copy = game.makeCopy();
+      copy.makeMove(mover, move);
+      best = Math.max(best, -this.playToTheEnd(copy, other, mover));
+    }
+    return best;
+  }
+
+  //scores a game for the player to move by searching every move to a depth, without pruning.
+  private int fullSearch(ReversiModel game, Player mover, Player other, int depth) {
+    if (depth == 0) {
+      return game.getScore(mover) - game.getScore(other);
+    }
+    int best = Integer.MIN_VALUE;
+    for (Coord move : game.legalMoves(mover)) {
+      ReversiModel copy = game.makeCopy();
+      copy.makeMove(mover, move);
+      best = Math.max(best, -this.fullSearch(copy, other, mover, depth - 1));
+    }
+    return best;
+  }
 
   private void generateMidgame() {
     for (int i = 0; i < 5; i++) {
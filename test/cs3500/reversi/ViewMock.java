@@ -0,0 +1,77 @@
+package cs3500.reversi;
+
+import cs3500.hw5.model.Coord;
+import cs3500.hw5.model.Player;
+import cs3500.hw5.view.ReversiGUI;
+import cs3500.hw5.view.ViewFeatures;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * View mock used for testing, which records what it is told without opening a window.
+ */
+public class ViewMock implements ReversiGUI {
+  public final List<String> log = new ArrayList<>();
+
+  @Override
+  public void makeVisible() {
+    log.add("VISIBLE");
+  }
+
+  @Override
+  public void setCommandCallback(Consumer<String> callback) {
+    //commands are not used.
+  }
+
+  @Override
+  public void showError(String error) {
+    log.add("ERROR " + error);
+  }
+
+  @Override
+  public void refresh() {
+    log.add("REFRESH");
+  }
+
+  @Override
+  public void fillHexagon(Coord position, Color color) {
+    log.add("FILL");
+  }
+
+  @Override
+  public void setFeaturesListener(ViewFeatures listener) {
+    //the mock has no input to listen to.
+  }
+
+  @Override
+  public void enableHints(boolean enableHints) {
+    //the mock has no hints.
+  }
+
+  @Override
+  public void notifyPlayerChanged(Player currentPlayer) {
+    log.add("PLAYER CHANGED " + currentPlayer);
+  }
+
+  @Override
+  public void notifyGameOver(Player winner) {
+    log.add("GAME OVER " + winner);
+  }
+
+  @Override
+  public void notifyBoardUpdated() {
+    log.add("BOARD UPDATED");
+  }
+
+  @Override
+  public void notifyIllegalMove(Player player) {
+    log.add("ILLEGAL MOVE " + player);
+  }
+
+  @Override
+  public void notifyOutOfTurnMove(Player player) {
+    log.add("OUT OF TURN MOVE " + player);
+  }
+}